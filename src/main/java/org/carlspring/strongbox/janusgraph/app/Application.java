@@ -4,6 +4,7 @@ import org.carlspring.strongbox.janusgraph.cassandra.CassandraEmbeddedConfig;
 import org.carlspring.strongbox.janusgraph.graph.JanusGraphConfig;
 import org.carlspring.strongbox.janusgraph.gremlin.repositories.GremlinRepositoriesConfig;
 import org.carlspring.strongbox.janusgraph.gremlin.server.GremlinServerConfig;
+import org.carlspring.strongbox.janusgraph.gremlin.tx.GremlinTransactionConfig;
 import org.carlspring.strongbox.janusgraph.repositories.RepositoriesConfig;
 import org.carlspring.strongbox.janusgraph.rest.controllers.ControllersConfig;
 import org.carlspring.strongbox.janusgraph.schema.SchemaConfig;
@@ -20,6 +21,7 @@ import org.springframework.context.annotation.Import;
           GremlinServerConfig.class,
           RepositoriesConfig.class,
           GremlinRepositoriesConfig.class,
+          GremlinTransactionConfig.class,
           ControllersConfig.class})
 public class Application
 {
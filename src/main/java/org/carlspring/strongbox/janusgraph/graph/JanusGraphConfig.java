@@ -2,15 +2,24 @@ package org.carlspring.strongbox.janusgraph.graph;
 
 import org.carlspring.strongbox.janusgraph.cassandra.CassandraEmbeddedProperties;
 import org.carlspring.strongbox.janusgraph.cassandra.CassandraShutdown;
+import org.carlspring.strongbox.janusgraph.gremlin.dsl.EntityVertexIds;
+import org.carlspring.strongbox.janusgraph.gremlin.dsl.EntityVertexIdsStrategy;
 
 import java.lang.reflect.Field;
 
 import org.janusgraph.core.JanusGraph;
 import org.janusgraph.core.JanusGraphFactory;
+import org.janusgraph.graphdb.database.StandardJanusGraph;
+import org.janusgraph.util.stats.MetricManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.context.annotation.Configuration;
 
+import com.codahale.metrics.MetricRegistry;
+
 /**
  * @author Przemyslaw Fusik
  */
@@ -19,9 +28,19 @@ import org.springframework.context.annotation.Configuration;
 public class JanusGraphConfig
 {
 
+    private static final Logger logger = LoggerFactory.getLogger(JanusGraphConfig.class);
+
+    /**
+     * @param customVertexIds
+     *            enables {@link EntityVertexIds}, not compatible with the vertices created by OGM repositories, only
+     *            applied when the graph is created (see {@link #entityVertexIds(JanusGraph, boolean)})
+     */
     @Bean(destroyMethod = "close")
     public JanusGraph janusGraph(CassandraEmbeddedProperties cassandraEmbeddedProperties,
-                                 CassandraShutdown cassandraShutdown)
+                                 CassandraShutdown cassandraShutdown,
+                                 @Value("${strongbox.graph.customVertexIds:false}") boolean customVertexIds,
+                                 @Value("${strongbox.graph.gremlin.metrics.backend:false}") boolean backendMetrics,
+                                 @Value("${strongbox.graph.search.directory:target/.lucene}") String searchDirectory)
         throws NoSuchFieldException,
         IllegalAccessException
     {
@@ -31,8 +50,15 @@ public class JanusGraphConfig
                                             .set("storage.port", cassandraEmbeddedProperties.getPort())
                                             .set("storage.cql.keyspace", "jgex")
                                             .set("tx.log-tx", true)
+                                            // mixed indexes backend, used for the range queries
+                                            .set("index.search.backend", "lucene")
+                                            .set("index.search.directory", searchDirectory)
+                                            // prefetch all vertex properties on first access
+                                            .set("query.fast-property", true)
+                                            .set("graph.set-vertex-id", customVertexIds)
+                                            // storage backend calls metrics, reported to the MetricManager registry
+                                            .set("metrics.enabled", backendMetrics)
                                             .open();
-
         // Remove JanusGraph shutdown hook to allow Spring context shutdown hook
         // to shutdown embedded components in an orderly fashion.
         Field shutdownHookField = graph.getClass().getDeclaredField("shutdownHook");
@@ -44,4 +70,39 @@ public class JanusGraphConfig
         return graph;
     }
 
+    /**
+     * The {@code graph.set-vertex-id} option is fixed once the graph is created, so the effective value is taken from
+     * the opened graph rather than from the {@code strongbox.graph.customVertexIds} property.
+     */
+    @Bean
+    public EntityVertexIds entityVertexIds(JanusGraph janusGraph,
+                                           @Value("${strongbox.graph.customVertexIds:false}") boolean customVertexIds)
+    {
+        StandardJanusGraph graph = (StandardJanusGraph) janusGraph;
+        boolean enabled = graph.getConfiguration().allowVertexIdSetting();
+        if (enabled != customVertexIds)
+        {
+            logger.warn(String.format("Custom vertex ids are [%s] for the existing graph, [%s] configured value ignored.",
+                                      enabled ? "enabled" : "disabled",
+                                      customVertexIds));
+        }
+
+        return new EntityVertexIds(enabled ? graph.getIDManager() : null);
+    }
+
+    @Bean
+    public EntityVertexIdsStrategy entityVertexIdsStrategy(EntityVertexIds entityVertexIds)
+    {
+        return new EntityVertexIdsStrategy(entityVertexIds);
+    }
+
+    /**
+     * Same registry which is used by JanusGraph itself for its metrics.
+     */
+    @Bean
+    public MetricRegistry metricRegistry()
+    {
+        return MetricManager.INSTANCE.getRegistry();
+    }
+
 }
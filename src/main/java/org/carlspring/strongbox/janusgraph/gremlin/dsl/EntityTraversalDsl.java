@@ -1,14 +1,25 @@
 package org.carlspring.strongbox.janusgraph.gremlin.dsl;
 
+import static org.apache.tinkerpop.gremlin.structure.VertexProperty.Cardinality.set;
+import static org.apache.tinkerpop.gremlin.structure.VertexProperty.Cardinality.single;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
+import org.apache.tinkerpop.gremlin.process.traversal.P;
 import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.GremlinDsl;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversal;
 import org.apache.tinkerpop.gremlin.structure.Edge;
-import org.apache.tinkerpop.gremlin.structure.Element;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
 import org.carlspring.strongbox.janusgraph.domain.DomainObject;
 import org.slf4j.Logger;
@@ -31,6 +42,10 @@ public interface EntityTraversalDsl<S, E> extends GraphTraversal.Admin<S, E>
 
     };
 
+    /**
+     * Looks up the vertex by the {@code uuid} index, or by the vertex id within {@link EntityVertexIds} mode (see
+     * {@link EntityVertexIdsStrategy}).
+     */
     @SuppressWarnings("unchecked")
     default <E2> GraphTraversal<S, E2> findById(String label,
                                                 Object uuid)
@@ -38,6 +53,23 @@ public interface EntityTraversalDsl<S, E> extends GraphTraversal.Admin<S, E>
         return (GraphTraversal<S, E2>) hasLabel(label).has("uuid", uuid);
     }
 
+    /**
+     * Looks up at most {@code limit} label vertices ordered by {@code uuid}, which go right after the provided
+     * {@code uuid} (or from the first one if it's null). The range, the order and the limit are all answered by the
+     * {@code uuid} search index of the label ({@code StrongboxSchema#uuidSearchIndex(String)}), so there is always
+     * the range condition, even for the first vertices.
+     */
+    @SuppressWarnings("unchecked")
+    default <E2> GraphTraversal<S, E2> findAfter(String label,
+                                                 String afterUuid,
+                                                 int limit)
+    {
+        return (GraphTraversal<S, E2>) hasLabel(label).has("uuid", afterUuid == null ? P.gte("") : P.gt(afterUuid))
+                                                      .order()
+                                                      .by("uuid")
+                                                      .limit(limit);
+    }
+
     @SuppressWarnings("unchecked")
     default Traversal<S, Object> enrichPropertyValue(String propertyName)
     {
@@ -65,27 +97,117 @@ public interface EntityTraversalDsl<S, E> extends GraphTraversal.Admin<S, E>
                        .orElse(NULL);
         GraphTraversal<S, DomainObject> element = findById(label, uuid);
 
+        String newUuid = Optional.of(uuid)
+                                 .filter(x -> !NULL.equals(x))
+                                 .map(String::valueOf)
+                                 .orElse(UUID.randomUUID().toString());
+
         return element.fold()
                       .choose(t -> t.isEmpty(),
                               __.addV(label)
-                                .property("uuid",
-                                           Optional.of(uuid)
-                                           .filter(x -> !NULL.equals(x))
-                                           .orElse(UUID.randomUUID().toString()))
+                                .property("uuid", newUuid)
                                 .trace("Created"),
                               __.unfold()
                                 .trace("Fetched"))
                       .map(unfoldTraversal);
     }
 
+    /**
+     * Saves the vertices with single traversal, the existing vertices are fetched with one {@code uuid} lookup, and
+     * only the missing ones are created. Each row is the vertex properties (see {@link #setProperties(Map)}). The rows
+     * without {@code uuid} are saved as new vertices, and the rows with the same {@code uuid} are saved once, with the
+     * last of them.
+     *
+     * @return the saved vertices in the rows order, one per row
+     */
+    @SuppressWarnings("unchecked")
+    default GraphTraversal<S, Vertex> saveAllV(String label,
+                                               List<Map<String, Object>> rows)
+    {
+        // The last row wins, but keeps the position of the first one
+        Map<String, Map<String, Object>> savedRows = new LinkedHashMap<>();
+        List<String> rowUuids = new ArrayList<>(rows.size());
+        for (Map<String, Object> row : rows)
+        {
+            Object uuid = row.get("uuid");
+            String newUuid = uuid == null ? UUID.randomUUID().toString() : String.valueOf(uuid);
+            savedRows.put(newUuid, row);
+            rowUuids.add(newUuid);
+        }
+
+        List<String> uuids = new ArrayList<>();
+        Map<String, Integer> savedIndexes = new HashMap<>();
+        Traversal<Map<String, List<Vertex>>, Vertex>[] upserts = new Traversal[savedRows.size()];
+        for (Map.Entry<String, Map<String, Object>> savedRow : savedRows.entrySet())
+        {
+            String newUuid = savedRow.getKey();
+            Map<String, Object> row = savedRow.getValue();
+
+            EntityTraversal<Map<String, List<Vertex>>, Vertex> t = __.<Map<String, List<Vertex>>>addV(label)
+                                                                     .property("uuid", newUuid);
+            t = t.trace("Created");
+            if (row.get("uuid") != null)
+            {
+                EntityTraversal<Map<String, List<Vertex>>, Vertex> existing = __.flatMap(e -> e.get()
+                                                                                                .getOrDefault(newUuid,
+                                                                                                              Collections.emptyList())
+                                                                                                .iterator());
+                t = __.coalesce(existing.trace("Fetched"), t);
+                uuids.add(newUuid);
+            }
+
+            int index = savedIndexes.size();
+            savedIndexes.put(newUuid, index);
+            upserts[index] = t.setProperties(row);
+        }
+
+        List<Integer> rowIndexes = rowUuids.stream().map(savedIndexes::get).collect(Collectors.toList());
+
+        return map(__.<E>V()
+                     .findById(label, P.within(uuids))
+                     .<String, List<Vertex>>group()
+                     .by(__.values("uuid"))
+                     .union(upserts)
+                     .fold()).flatMap(t -> rowIndexes.stream().map(t.get()::get).iterator());
+    }
+
+    /**
+     * Sets the vertex properties, where the {@code uuid} and the {@code null} values are skipped, and the collection
+     * values are saved with {@code set} cardinality.
+     */
+    @SuppressWarnings({ "unchecked",
+                        "rawtypes" })
+    default GraphTraversal<S, E> setProperties(Map<String, Object> properties)
+    {
+        GraphTraversal<S, E> t = this;
+        for (Map.Entry<String, Object> property : properties.entrySet())
+        {
+            String key = property.getKey();
+            Object value = property.getValue();
+            if ("uuid".equals(key) || value == null)
+            {
+                continue;
+            }
+            if (!(value instanceof Collection))
+            {
+                t = t.property(single, key, value);
+                continue;
+            }
+
+            t = t.sideEffect((Traversal) __.properties(key).drop());
+            for (Object element : (Collection<?>) value)
+            {
+                t = t.property(set, key, element);
+            }
+        }
+
+        return t;
+    }
+
+    @SuppressWarnings("unchecked")
     default <E2> Traversal<S, E2> trace(String action)
     {
-        return (Traversal<S, E2>) sideEffect(t -> logger.debug(String.format("%s [%s]-[%s]-[%s]",
-                                                                             action,
-                                                                             ((Element) t.get()).label(),
-                                                                             ((Element) t.get()).id(),
-                                                                             ((Element) t.get()).property("uuid")
-                                                                                                .value())));
+        return (Traversal<S, E2>) asAdmin().addStep(new TraceStep<>(asAdmin(), action));
     }
 
 }
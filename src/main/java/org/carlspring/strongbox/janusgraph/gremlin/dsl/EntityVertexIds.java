@@ -0,0 +1,89 @@
+package org.carlspring.strongbox.janusgraph.gremlin.dsl;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.janusgraph.graphdb.idmanagement.IDManager;
+
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+
+/**
+ * Custom vertex ids mode (see JanusGraph {@code graph.set-vertex-id}), where the entity vertex id is derived from the
+ * vertex label and uuid. So the vertices are created with their ids and looked up with direct {@code V(id)} reads
+ * instead of the {@code uuid} index lookups (see {@link EntityVertexIdsStrategy}).
+ * <p>
+ * The hash of different uuids can map to the same vertex id, so each uuid has {@link #CANDIDATES} candidate ids: the
+ * vertex is created with the first candidate id which is not taken yet, and it's looked up by all of them along with
+ * the uuid.
+ * <p>
+ * Note that within this mode JanusGraph requires all the vertices to be created with the id provided, so it's not
+ * compatible with the vertices created by the Cypher (OGM) repositories.
+ */
+public class EntityVertexIds
+{
+
+    public static final int CANDIDATES = 2;
+
+    private static final HashFunction HASH_FUNCTION = Hashing.murmur3_128();
+
+    private final IDManager idManager;
+
+    /**
+     * @param idManager
+     *            the graph id manager, or null if the graph doesn't allow custom vertex ids
+     */
+    public EntityVertexIds(IDManager idManager)
+    {
+        this.idManager = idManager;
+    }
+
+    public boolean isEnabled()
+    {
+        return idManager != null;
+    }
+
+    /**
+     * @return the candidate vertex ids of the uuid, in order of preference
+     * @throws IllegalStateException
+     *             if the custom vertex ids are disabled
+     */
+    public List<Long> vertexIds(String label,
+                                String uuid)
+    {
+        if (idManager == null)
+        {
+            throw new IllegalStateException("Custom vertex ids are disabled.");
+        }
+
+        List<Long> result = new ArrayList<>(CANDIDATES);
+        for (int i = 0; i < CANDIDATES; i++)
+        {
+            // JanusGraph accepts the vertex counts within (0, vertexCountBound) only
+            long count = (hash(label, uuid, i) & Long.MAX_VALUE) % (idManager.getVertexCountBound() - 1) + 1;
+            result.add(idManager.toVertexId(count));
+        }
+
+        return result;
+    }
+
+    protected long hash(String label,
+                        String uuid,
+                        int candidate)
+    {
+        Hasher hasher = HASH_FUNCTION.newHasher()
+                                     .putString(label, StandardCharsets.UTF_8)
+                                     .putChar(':')
+                                     .putString(uuid, StandardCharsets.UTF_8);
+        // The existing vertices could be created with the first candidate id, so it must not change
+        if (candidate > 0)
+        {
+            hasher = hasher.putInt(candidate);
+        }
+
+        return hasher.hash().asLong();
+    }
+
+}
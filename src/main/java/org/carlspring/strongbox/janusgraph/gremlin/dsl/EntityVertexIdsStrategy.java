@@ -0,0 +1,185 @@
+package org.carlspring.strongbox.janusgraph.gremlin.dsl;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Compare;
+import org.apache.tinkerpop.gremlin.process.traversal.Contains;
+import org.apache.tinkerpop.gremlin.process.traversal.P;
+import org.apache.tinkerpop.gremlin.process.traversal.Step;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.step.HasContainerHolder;
+import org.apache.tinkerpop.gremlin.process.traversal.step.Mutating;
+import org.apache.tinkerpop.gremlin.process.traversal.step.Parameterizing;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.AddVertexStartStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.AddVertexStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.HasContainer;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.Parameters;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.AbstractTraversalStrategy;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.janusgraph.graphdb.tinkerpop.optimize.JanusGraphStepStrategy;
+
+/**
+ * Applies the {@link EntityVertexIds} to the entity traversals, if the custom vertex ids are enabled:
+ * <ul>
+ * <li>the {@code hasLabel(label).has("uuid", uuid)} lookups (see {@link EntityTraversalDsl#findById(String, Object)})
+ * get the {@code hasId()} of the uuid candidate vertex ids, which JanusGraph folds into direct vertex reads</li>
+ * <li>the {@code addV(label).property("uuid", uuid)} vertices get the first candidate vertex id which is not
+ * taken</li>
+ * </ul>
+ */
+public class EntityVertexIdsStrategy
+        extends AbstractTraversalStrategy<TraversalStrategy.ProviderOptimizationStrategy>
+        implements TraversalStrategy.ProviderOptimizationStrategy
+{
+
+    private static final Set<Class<? extends ProviderOptimizationStrategy>> POSTS = Collections.singleton(
+            JanusGraphStepStrategy.class);
+
+    private final transient EntityVertexIds entityVertexIds;
+
+    public EntityVertexIdsStrategy(EntityVertexIds entityVertexIds)
+    {
+        this.entityVertexIds = entityVertexIds;
+    }
+
+    @Override
+    public void apply(Traversal.Admin<?, ?> traversal)
+    {
+        if (!entityVertexIds.isEnabled())
+        {
+            return;
+        }
+
+        String label = null;
+        List<HasContainerHolder> lookups = new ArrayList<>();
+        for (Step<?, ?> step : new ArrayList<>(traversal.getSteps()))
+        {
+            if (step instanceof AddVertexStep || step instanceof AddVertexStartStep)
+            {
+                applyVertexId(step);
+            }
+            if (!(step instanceof HasContainerHolder))
+            {
+                // The label and uuid are looked up within the sequence of the has() steps
+                applyLookupIds(label, lookups);
+                label = null;
+                lookups.clear();
+                continue;
+            }
+
+            HasContainerHolder holder = (HasContainerHolder) step;
+            for (HasContainer hasContainer : holder.getHasContainers())
+            {
+                if (T.label.getAccessor().equals(hasContainer.getKey())
+                        && Compare.eq.equals(hasContainer.getBiPredicate())
+                        && hasContainer.getValue() instanceof String)
+                {
+                    label = (String) hasContainer.getValue();
+                }
+                else if ("uuid".equals(hasContainer.getKey()))
+                {
+                    lookups.add(holder);
+                }
+            }
+        }
+        applyLookupIds(label, lookups);
+    }
+
+    private void applyLookupIds(String label,
+                                List<HasContainerHolder> lookups)
+    {
+        if (label == null)
+        {
+            return;
+        }
+
+        for (HasContainerHolder holder : lookups)
+        {
+            List<Long> vertexIds = new ArrayList<>();
+            for (HasContainer hasContainer : new ArrayList<>(holder.getHasContainers()))
+            {
+                if (!"uuid".equals(hasContainer.getKey()))
+                {
+                    continue;
+                }
+
+                Object uuid = hasContainer.getValue();
+                if (Compare.eq.equals(hasContainer.getBiPredicate()) && uuid instanceof String)
+                {
+                    vertexIds.addAll(entityVertexIds.vertexIds(label, (String) uuid));
+                }
+                else if (Contains.within.equals(hasContainer.getBiPredicate()) && uuid instanceof Collection)
+                {
+                    ((Collection<?>) uuid).forEach(u -> vertexIds.addAll(entityVertexIds.vertexIds(label,
+                                                                                                   String.valueOf(u))));
+                }
+                else
+                {
+                    // Not applicable, the index lookup is used
+                    return;
+                }
+            }
+
+            if (!vertexIds.isEmpty())
+            {
+                holder.addHasContainer(new HasContainer(T.id.getAccessor(), P.within(vertexIds)));
+            }
+        }
+    }
+
+    private void applyVertexId(Step<?, ?> step)
+    {
+        Parameters parameters = ((Parameterizing) step).getParameters();
+        Object label = firstValue(parameters, T.label);
+        Object uuid = firstValue(parameters, "uuid");
+        if (parameters.contains(T.id) || !(label instanceof String) || !(uuid instanceof String))
+        {
+            return;
+        }
+
+        ((Mutating<?>) step).addPropertyMutations(T.id, freeVertexId((String) label, (String) uuid));
+    }
+
+    /**
+     * @return traversal which emits the first candidate vertex id, which is not taken within the transaction
+     */
+    @SuppressWarnings("unchecked")
+    private Traversal<Object, Long> freeVertexId(String label,
+                                                 String uuid)
+    {
+        List<Long> vertexIds = entityVertexIds.vertexIds(label, uuid);
+
+        Traversal<Object, Long>[] candidates = new Traversal[vertexIds.size() + 1];
+        for (int i = 0; i < vertexIds.size(); i++)
+        {
+            Long vertexId = vertexIds.get(i);
+            candidates[i] = __.V(vertexId).count().is(0L).constant(vertexId);
+        }
+        candidates[vertexIds.size()] = __.<Object, Long>map(t -> {
+            throw new IllegalStateException(String.format("Vertex ids %s of [%s]-[%s] are taken.", vertexIds, label,
+                                                          uuid));
+        });
+
+        return __.coalesce(candidates);
+    }
+
+    private static Object firstValue(Parameters parameters,
+                                     Object key)
+    {
+        List<Object> values = parameters.getRaw().get(key);
+
+        return values == null || values.isEmpty() ? null : values.get(0);
+    }
+
+    @Override
+    public Set<Class<? extends ProviderOptimizationStrategy>> applyPost()
+    {
+        return POSTS;
+    }
+
+}
@@ -0,0 +1,53 @@
+package org.carlspring.strongbox.janusgraph.gremlin.dsl;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
+import org.apache.tinkerpop.gremlin.process.traversal.step.sideEffect.SideEffectStep;
+import org.apache.tinkerpop.gremlin.structure.Element;
+
+/**
+ * Debug logging of the traversed elements, see {@link EntityTraversalDsl#trace(String)}. It's a dedicated step, so
+ * that strategies can strip it from the traversals when the debug logging is off.
+ *
+ * @param <S>
+ */
+public class TraceStep<S> extends SideEffectStep<S>
+{
+
+    private final String action;
+
+    public TraceStep(Traversal.Admin<?, ?> traversal,
+                     String action)
+    {
+        super(traversal);
+        this.action = action;
+    }
+
+    public static boolean isEnabled()
+    {
+        return EntityTraversalDsl.logger.isDebugEnabled();
+    }
+
+    @Override
+    protected void sideEffect(Traverser.Admin<S> traverser)
+    {
+        if (!isEnabled())
+        {
+            return;
+        }
+
+        Element element = (Element) traverser.get();
+        EntityTraversalDsl.logger.debug(String.format("%s [%s]-[%s]-[%s]",
+                                                      action,
+                                                      element.label(),
+                                                      element.id(),
+                                                      element.property("uuid").value()));
+    }
+
+    @Override
+    public String toString()
+    {
+        return "TraceStep(" + action + ")";
+    }
+
+}
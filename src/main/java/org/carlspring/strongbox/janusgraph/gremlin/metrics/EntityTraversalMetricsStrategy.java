@@ -0,0 +1,121 @@
+package org.carlspring.strongbox.janusgraph.gremlin.metrics;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Step;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.AbstractTraversalStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
+import org.carlspring.strongbox.janusgraph.gremlin.dsl.TraceStep;
+
+import com.codahale.metrics.Histogram;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
+
+/**
+ * Instruments the repository traversals with the following metrics, named with
+ * {@code gremlin-repository.<repository>.<label>} prefix:
+ * <ul>
+ * <li>{@code traversal} - the time spent within the traversal steps, which doesn't include the time spent by the
+ * traversal consumer</li>
+ * <li>{@code traversers} - the number of the traversal results</li>
+ * <li>{@code step.<step>} - the time spent by the step itself, optional because it adds overhead to each traversal
+ * step</li>
+ * </ul>
+ * Also strips the {@link TraceStep}s from the traversals if the debug logging is off.
+ * <p>
+ * The storage backend calls are reported by JanusGraph itself (see {@code metrics.enabled}).
+ */
+public class EntityTraversalMetricsStrategy extends AbstractTraversalStrategy<TraversalStrategy.FinalizationStrategy>
+        implements TraversalStrategy.FinalizationStrategy
+{
+
+    private final transient MetricRegistry metricRegistry;
+
+    private final String name;
+
+    private final boolean enabled;
+
+    private final boolean stepsEnabled;
+
+    private final transient Timer traversalTimer;
+
+    private final transient Histogram traversersHistogram;
+
+    /**
+     * @param metricRegistry
+     *            the metrics registry
+     * @param repository
+     *            the repository name
+     * @param label
+     *            the repository adapter label
+     * @param enabled
+     *            enables the traversal metrics
+     * @param stepsEnabled
+     *            enables the step metrics
+     */
+    public EntityTraversalMetricsStrategy(MetricRegistry metricRegistry,
+                                          String repository,
+                                          String label,
+                                          boolean enabled,
+                                          boolean stepsEnabled)
+    {
+        this.metricRegistry = metricRegistry;
+        this.name = MetricRegistry.name("gremlin-repository", repository, label);
+        this.enabled = enabled;
+        this.stepsEnabled = enabled && stepsEnabled;
+        this.traversalTimer = metricRegistry.timer(MetricRegistry.name(name, "traversal"));
+        this.traversersHistogram = metricRegistry.histogram(MetricRegistry.name(name, "traversers"));
+    }
+
+    @Override
+    public void apply(Traversal.Admin<?, ?> traversal)
+    {
+        if (!TraceStep.isEnabled())
+        {
+            for (TraceStep<?> traceStep : TraversalHelper.getStepsOfClass(TraceStep.class, traversal))
+            {
+                traversal.removeStep(traceStep);
+            }
+        }
+
+        if (!enabled || !traversal.isRoot() || traversal.getSteps().isEmpty())
+        {
+            return;
+        }
+
+        List<Step<?, ?>> steps = new ArrayList<>(traversal.getSteps());
+        List<TraversalTimingStep<?>> timingSteps = new ArrayList<>();
+        if (stepsEnabled)
+        {
+            for (Step<?, ?> step : steps.subList(0, steps.size() - 1))
+            {
+                TraversalTimingStep<?> timingStep = new TraversalTimingStep<>(traversal, stepTimer(step));
+                traversal.addStep(traversal.getSteps().indexOf(step) + 1, timingStep);
+                timingSteps.add(timingStep);
+            }
+        }
+
+        Step<?, ?> lastStep = steps.get(steps.size() - 1);
+        traversal.addStep(new TraversalMetricsStep<>(traversal,
+                                                     stepsEnabled ? stepTimer(lastStep) : null,
+                                                     this,
+                                                     timingSteps));
+    }
+
+    private Timer stepTimer(Step<?, ?> step)
+    {
+        return metricRegistry.timer(MetricRegistry.name(name, "step", step.getClass().getSimpleName()));
+    }
+
+    void traversalCompleted(long duration,
+                            long count)
+    {
+        traversalTimer.update(duration, TimeUnit.NANOSECONDS);
+        traversersHistogram.update(count);
+    }
+
+}
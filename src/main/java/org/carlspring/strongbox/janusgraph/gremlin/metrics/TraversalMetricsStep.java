@@ -0,0 +1,82 @@
+package org.carlspring.strongbox.janusgraph.gremlin.metrics;
+
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
+
+import com.codahale.metrics.Timer;
+
+/**
+ * The end step of the instrumented traversal, which reports the traversal metrics once the traversal exhausted or
+ * closed. The traversals which are neither exhausted nor closed are not reported.
+ *
+ * @param <S>
+ */
+public class TraversalMetricsStep<S> extends TraversalTimingStep<S> implements AutoCloseable
+{
+
+    private final EntityTraversalMetricsStrategy strategy;
+
+    private final List<TraversalTimingStep<?>> timingSteps;
+
+    private boolean reported;
+
+    public TraversalMetricsStep(Traversal.Admin<?, ?> traversal,
+                                Timer stepTimer,
+                                EntityTraversalMetricsStrategy strategy,
+                                List<TraversalTimingStep<?>> timingSteps)
+    {
+        super(traversal, stepTimer);
+        this.strategy = strategy;
+        this.timingSteps = timingSteps;
+    }
+
+    @Override
+    protected Traverser.Admin<S> processNextStart()
+    {
+        try
+        {
+            return super.processNextStart();
+        }
+        catch (NoSuchElementException e)
+        {
+            report();
+            throw e;
+        }
+    }
+
+    @Override
+    public void close()
+    {
+        report();
+    }
+
+    private void report()
+    {
+        if (reported)
+        {
+            return;
+        }
+        reported = true;
+
+        long previousDuration = 0;
+        for (TraversalTimingStep<?> timingStep : timingSteps)
+        {
+            timingStep.report(previousDuration);
+            previousDuration = timingStep.getDuration();
+        }
+        report(previousDuration);
+
+        strategy.traversalCompleted(getDuration(), getCount());
+    }
+
+    @Override
+    public void reset()
+    {
+        super.reset();
+        reported = false;
+    }
+
+}
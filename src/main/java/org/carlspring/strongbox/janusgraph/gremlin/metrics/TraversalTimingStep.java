@@ -0,0 +1,90 @@
+package org.carlspring.strongbox.janusgraph.gremlin.metrics;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.AbstractStep;
+
+import com.codahale.metrics.Timer;
+
+/**
+ * Pass through step which measures the time spent to pull the traversers from the previous step, so it's the time of
+ * the previous step along with all the steps before it.
+ *
+ * @param <S>
+ */
+public class TraversalTimingStep<S> extends AbstractStep<S, S>
+{
+
+    private final Timer stepTimer;
+
+    private long duration;
+
+    private long count;
+
+    public TraversalTimingStep(Traversal.Admin<?, ?> traversal,
+                               Timer stepTimer)
+    {
+        super(traversal);
+        this.stepTimer = stepTimer;
+    }
+
+    @Override
+    protected Traverser.Admin<S> processNextStart()
+    {
+        long start = System.nanoTime();
+        try
+        {
+            Traverser.Admin<S> traverser = starts.next();
+            count += traverser.bulk();
+
+            return traverser;
+        }
+        finally
+        {
+            duration += System.nanoTime() - start;
+        }
+    }
+
+    /**
+     * @return the time in nanoseconds spent by the previous steps so far
+     */
+    public long getDuration()
+    {
+        return duration;
+    }
+
+    /**
+     * @return the number of traversers passed so far
+     */
+    public long getCount()
+    {
+        return count;
+    }
+
+    /**
+     * Records the time spent by the previous step only.
+     *
+     * @param previousDuration
+     *            the time spent by the steps before the previous step
+     */
+    void report(long previousDuration)
+    {
+        if (stepTimer == null)
+        {
+            return;
+        }
+
+        stepTimer.update(Math.max(0, duration - previousDuration), TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void reset()
+    {
+        super.reset();
+        duration = 0;
+        count = 0;
+    }
+
+}
@@ -1,5 +1,11 @@
 package org.carlspring.strongbox.janusgraph.gremlin.repositories;
 
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
 import javax.inject.Inject;
 
 import org.apache.tinkerpop.gremlin.structure.Vertex;
@@ -21,4 +27,28 @@ public class ArtifactCoordinatesRepository extends GremlinVertexRepository<Artif
         return adapter;
     }
 
+    /**
+     * The artifact coordinates have no relations, so the batch is saved with single
+     * {@code saveAllV()} step, which fetches all the existing vertices at once.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    protected <R extends ArtifactCoordinatesEntity> List<R> saveBatch(List<R> batch)
+    {
+        List<Map<String, Object>> rows = new ArrayList<>(batch.size());
+        for (R entity : batch)
+        {
+            rows.add(adapter.unfoldProperties(entity));
+        }
+
+        Set<String> invalidated = new HashSet<>();
+        List<ArtifactCoordinatesEntity> result = toList(g().inject(0)
+                                                           .saveAllV(label(), rows)
+                                                           .sideEffect(collectInvalidated(invalidated))
+                                                           .map(adapter.fold()));
+        invalidateAfterCommit(invalidated);
+
+        return (List<R>) result;
+    }
+
 }
\ No newline at end of file
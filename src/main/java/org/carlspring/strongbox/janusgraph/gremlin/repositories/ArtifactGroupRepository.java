@@ -4,6 +4,7 @@ import javax.inject.Inject;
 
 import org.apache.tinkerpop.gremlin.structure.Vertex;
 import org.carlspring.strongbox.janusgraph.domain.ArtifactGroupEntity;
+import org.carlspring.strongbox.janusgraph.domain.Edges;
 import org.carlspring.strongbox.janusgraph.gremlin.repositories.adapters.ArtifactGroupAdapter;
 import org.carlspring.strongbox.janusgraph.gremlin.repositories.adapters.EntityTraversalAdapter;
 import org.springframework.stereotype.Repository;
@@ -20,4 +21,15 @@ public class ArtifactGroupRepository extends GremlinVertexRepository<ArtifactGro
     {
         return adapter;
     }
+
+    /**
+     * Counts the group artifacts without fetching them.
+     */
+    public long countArtifacts(String uuid)
+    {
+        return next(start(this::g).findById(label(), uuid)
+                                  .outE(Edges.ARTIFACTGROUP_ARTIFACT)
+                                  .count());
+    }
+
 }
\ No newline at end of file
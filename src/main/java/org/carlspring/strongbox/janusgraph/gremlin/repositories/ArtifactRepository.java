@@ -1,7 +1,11 @@
 package org.carlspring.strongbox.janusgraph.gremlin.repositories;
 
+import java.util.Date;
+import java.util.List;
+
 import javax.inject.Inject;
 
+import org.apache.tinkerpop.gremlin.process.traversal.P;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
 import org.carlspring.strongbox.janusgraph.domain.ArtifactEntity;
 import org.carlspring.strongbox.janusgraph.gremlin.repositories.adapters.ArtifactAdapter;
@@ -21,4 +25,37 @@ public class ArtifactRepository extends GremlinVertexRepository<ArtifactEntity>
         return adapter;
     }
 
+    /**
+     * Finds the repository artifacts created within the {@code [from, to)} range, with the {@code Artifact.createdAt}
+     * mixed index lookup.
+     */
+    public List<ArtifactEntity> findCreatedBetween(String storageId,
+                                                   String repositoryId,
+                                                   Date from,
+                                                   Date to)
+    {
+        return findCreated(storageId, repositoryId, P.between(from, to));
+    }
+
+    /**
+     * Finds the repository artifacts created at or after the provided date.
+     */
+    public List<ArtifactEntity> findCreatedSince(String storageId,
+                                                 String repositoryId,
+                                                 Date from)
+    {
+        return findCreated(storageId, repositoryId, P.gte(from));
+    }
+
+    private List<ArtifactEntity> findCreated(String storageId,
+                                             String repositoryId,
+                                             P<Date> created)
+    {
+        return toList(start(this::g).hasLabel(label())
+                                    .has("storageId", storageId)
+                                    .has("repositoryId", repositoryId)
+                                    .has("createdAt", created)
+                                    .map(adapter.fold()));
+    }
+
 }
@@ -1,11 +1,48 @@
 package org.carlspring.strongbox.janusgraph.gremlin.repositories;
 
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.InstrumentedExecutorService;
+import com.codahale.metrics.MetricRegistry;
 
 @Configuration
 @ComponentScan
 public class GremlinRepositoriesConfig
 {
 
+    /**
+     * Bounded executor for the parallel and asynchronous repository operations, tasks submitted over the queue
+     * capacity are rejected.
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService gremlinRepositoryExecutor(@Value("${strongbox.graph.gremlin.repositories.parallelism:4}")
+                                                     int parallelism,
+                                                     @Value("${strongbox.graph.gremlin.repositories.queueCapacity:1000}")
+                                                     int queueCapacity,
+                                                     MetricRegistry metricRegistry)
+    {
+        ArrayBlockingQueue<Runnable> queue = new ArrayBlockingQueue<>(queueCapacity);
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(parallelism,
+                                                             parallelism,
+                                                             0L,
+                                                             TimeUnit.MILLISECONDS,
+                                                             queue,
+                                                             new CustomizableThreadFactory("gremlin-repository-"),
+                                                             new ThreadPoolExecutor.AbortPolicy());
+
+        metricRegistry.register(MetricRegistry.name("gremlin-repository", "queue"), (Gauge<Integer>) queue::size);
+
+        return new InstrumentedExecutorService(executor, metricRegistry, "gremlin-repository");
+    }
+
 }
@@ -1,19 +1,55 @@
 package org.carlspring.strongbox.janusgraph.gremlin.repositories;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+import javax.annotation.PostConstruct;
 import javax.inject.Inject;
 
+import org.apache.tinkerpop.gremlin.process.traversal.P;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
+import org.apache.tinkerpop.gremlin.structure.Element;
+import org.apache.tinkerpop.gremlin.structure.util.CloseableIterator;
 import org.carlspring.strongbox.janusgraph.domain.DomainObject;
 import org.carlspring.strongbox.janusgraph.gremlin.dsl.EntityTraversal;
 import org.carlspring.strongbox.janusgraph.gremlin.dsl.EntityTraversalSource;
+import org.carlspring.strongbox.janusgraph.gremlin.dsl.EntityVertexIdsStrategy;
+import org.carlspring.strongbox.janusgraph.gremlin.metrics.EntityTraversalMetricsStrategy;
+import org.carlspring.strongbox.janusgraph.gremlin.repositories.adapters.EntityProjection;
 import org.carlspring.strongbox.janusgraph.gremlin.repositories.adapters.EntityTraversalAdapter;
+import org.carlspring.strongbox.janusgraph.gremlin.repositories.cache.EntityCache;
+import org.carlspring.strongbox.janusgraph.gremlin.tx.GremlinUnitOfWork;
+import org.carlspring.strongbox.janusgraph.gremlin.tx.GremlinUnitOfWorkManager;
 import org.janusgraph.core.JanusGraph;
+import org.janusgraph.core.JanusGraphTransaction;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.data.repository.CrudRepository;
 
+import com.codahale.metrics.MetricRegistry;
+
 /**
  * @author sbespalov
  *
@@ -26,6 +62,45 @@ public abstract class GremlinRepository<S, E extends DomainObject> implements Cr
     @Inject
     private JanusGraph janusGraph;
 
+    @Inject
+    private ExecutorService gremlinRepositoryExecutor;
+
+    @Inject
+    private EntityCache entityCache;
+
+    @Inject
+    private GremlinUnitOfWorkManager unitOfWorkManager;
+
+    @Inject
+    private MetricRegistry metricRegistry;
+
+    @Inject
+    private EntityVertexIdsStrategy vertexIdsStrategy;
+
+    @Value("${strongbox.graph.gremlin.repositories.batchSize:100}")
+    private int batchSize;
+
+    @Value("${strongbox.graph.gremlin.repositories.sliceSize:1000}")
+    private int sliceSize;
+
+    @Value("${strongbox.graph.gremlin.metrics.enabled:true}")
+    private boolean metricsEnabled;
+
+    @Value("${strongbox.graph.gremlin.metrics.steps:false}")
+    private boolean stepMetricsEnabled;
+
+    private EntityTraversalMetricsStrategy metricsStrategy;
+
+    @PostConstruct
+    public void init()
+    {
+        metricsStrategy = new EntityTraversalMetricsStrategy(metricRegistry,
+                                                             getClass().getSimpleName(),
+                                                             label(),
+                                                             metricsEnabled,
+                                                             stepMetricsEnabled);
+    }
+
     protected abstract EntityTraversalAdapter<S, E> adapter();
 
     protected String label()
@@ -33,29 +108,240 @@ public abstract class GremlinRepository<S, E extends DomainObject> implements Cr
         return adapter().getLabel();
     }
 
+    /**
+     * @return traversal source of the current {@link GremlinUnitOfWork}, or of the JanusGraph thread-bound
+     *         transaction if there is no unit of work
+     */
     protected EntityTraversalSource g()
     {
-        return janusGraph.traversal(EntityTraversalSource.class);
+        return unitOfWorkManager.traversal().withStrategies(metricsStrategy, vertexIdsStrategy);
+    }
+
+    /**
+     * Takes the first traversal result and closes the traversal, so that the traversal metrics are reported (see
+     * {@link EntityTraversalMetricsStrategy}).
+     */
+    protected static <T> T next(Traversal<?, T> traversal)
+    {
+        try
+        {
+            return traversal.next();
+        }
+        finally
+        {
+            CloseableIterator.closeIterator(traversal);
+        }
+    }
+
+    /**
+     * Takes all the traversal results and closes the traversal, same as {@link #next(Traversal)} does.
+     */
+    protected static <T> List<T> toList(Traversal<?, T> traversal)
+    {
+        try
+        {
+            return traversal.toList();
+        }
+        finally
+        {
+            CloseableIterator.closeIterator(traversal);
+        }
+    }
+
+    /**
+     * @return the stream of the traversal results, the traversal is closed along with the stream
+     */
+    protected static <T> Stream<T> toStream(Traversal<?, T> traversal)
+    {
+        return traversal.toStream()
+                        .onClose(() -> CloseableIterator.closeIterator(traversal));
+    }
+
+    /**
+     * Number of entities processed within one traversal and committed together by the bulk operations.
+     */
+    protected int batchSize()
+    {
+        return batchSize;
+    }
+
+    /**
+     * Registers the mutations within the current {@link GremlinUnitOfWork}, if any.
+     */
+    protected void mutated(int count)
+    {
+        unitOfWorkManager.current().ifPresent(unitOfWork -> unitOfWork.mutated(count));
+    }
+
+    /**
+     * Should be checked once before the first batch of the bulk operation, as the JanusGraph thread-bound transaction
+     * is opened again by the batches themselves.
+     *
+     * @return true if there is no {@link GremlinUnitOfWork} and no JanusGraph thread-bound transaction opened by the
+     *         caller, so the repository can commit the batches without committing the caller's pending changes
+     */
+    protected boolean ownsTransaction()
+    {
+        return !unitOfWorkManager.current().isPresent() && !janusGraph.tx().isOpen();
+    }
+
+    /**
+     * Commits the batch of mutations. Within {@link GremlinUnitOfWork} it's up to the unit of work to commit (see
+     * {@link GremlinUnitOfWork.Builder#commitEvery(int)}), otherwise the JanusGraph thread-bound transaction is
+     * committed only if the repository owns it (see {@link #ownsTransaction()}), and left to the caller if not.
+     */
+    protected void commitBatch(boolean ownTransaction,
+                               int count)
+    {
+        Optional<GremlinUnitOfWork> unitOfWork = unitOfWorkManager.current();
+        if (unitOfWork.isPresent())
+        {
+            unitOfWork.get().mutated(count);
+            return;
+        }
+
+        if (ownTransaction)
+        {
+            janusGraph.tx().commit();
+        }
+    }
+
+    /**
+     * Executes the work with the repository executor within new {@link GremlinUnitOfWork}, which is
+     * committed when the work is done.
+     */
+    protected <T> CompletableFuture<T> async(GremlinUnitOfWork.Builder unitOfWork,
+                                             Supplier<T> work)
+    {
+        try
+        {
+            return CompletableFuture.supplyAsync(() -> unitOfWorkManager.execute(unitOfWork, work),
+                                                 gremlinRepositoryExecutor);
+        }
+        catch (RejectedExecutionException e)
+        {
+            CompletableFuture<T> result = new CompletableFuture<>();
+            result.completeExceptionally(e);
+
+            return result;
+        }
+    }
+
+    protected GremlinUnitOfWorkManager unitOfWorkManager()
+    {
+        return unitOfWorkManager;
     }
 
     protected abstract EntityTraversal<S, S> start(Supplier<EntityTraversalSource> g);
 
+    protected EntityCache entityCache()
+    {
+        return entityCache;
+    }
+
+    /**
+     * @return the traversal side effect, which collects the uuids of the cached entities affected by the saved or
+     *         deleted element (see {@link EntityCache#relatedUuids(Element)})
+     */
+    protected <T extends Element> Consumer<Traverser<T>> collectInvalidated(Set<String> uuids)
+    {
+        return t -> {
+            if (entityCache.isEnabled())
+            {
+                uuids.addAll(EntityCache.relatedUuids(t.get()));
+            }
+        };
+    }
+
+    /**
+     * Invalidates the cached entities once the current transaction is committed, so the entities are not cached
+     * again from the state which is not committed yet.
+     */
+    protected void invalidateAfterCommit(Set<String> uuids)
+    {
+        if (uuids.isEmpty())
+        {
+            return;
+        }
+
+        unitOfWorkManager.afterCommit(() -> uuids.forEach(entityCache::invalidate));
+    }
+
+    /**
+     * The cached entities are fetched within separate read only transaction, so only the committed state is cached.
+     * The cache is bypassed if the current transaction has uncommitted changes, so the caller sees its own changes.
+     */
     public Optional<E> findById(String uuid)
     {
-        EntityTraversal<S, E> traversal = start(this::g).findById(label(), uuid)
-                                                        .map(adapter().fold());
-        if (!traversal.hasNext())
+        if (!entityCache.isEnabled() || unitOfWorkManager.hasPendingMutations())
         {
-            return Optional.empty();
+            return fetchById(uuid);
         }
 
-        return Optional.of(traversal.next());
+        return entityCache.get(label(), uuid, () -> fetchCommittedById(uuid), adapter()::copy);
     }
 
-    @Override
-    public <S extends E> Iterable<S> saveAll(Iterable<S> entities)
+    /**
+     * Same as {@link #findById(String)}, but executed asynchronously within separate read only transaction.
+     */
+    public CompletableFuture<Optional<E>> findByIdAsync(String uuid)
     {
-        throw new UnsupportedOperationException("TODO implement");
+        return async(unitOfWorkManager.builder().readOnly(), () -> findById(uuid));
+    }
+
+    /**
+     * Fetches only the projection fields of the entity, such partial entities are not cached.
+     */
+    public Optional<E> findById(String uuid,
+                                EntityProjection projection)
+    {
+        if (projection.isAll())
+        {
+            return findById(uuid);
+        }
+
+        return fetchById(uuid, projection);
+    }
+
+    private Optional<E> fetchById(String uuid)
+    {
+        return fetchById(uuid, EntityProjection.all());
+    }
+
+    private Optional<E> fetchCommittedById(String uuid)
+    {
+        JanusGraphTransaction tx = janusGraph.buildTransaction().readOnly().start();
+        try
+        {
+            return fetchById(() -> tx.traversal(EntityTraversalSource.class)
+                                     .withStrategies(metricsStrategy, vertexIdsStrategy),
+                             uuid,
+                             EntityProjection.all());
+        }
+        finally
+        {
+            tx.rollback();
+        }
+    }
+
+    private Optional<E> fetchById(String uuid,
+                                  EntityProjection projection)
+    {
+        return fetchById(this::g, uuid, projection);
+    }
+
+    private Optional<E> fetchById(Supplier<EntityTraversalSource> g,
+                                  String uuid,
+                                  EntityProjection projection)
+    {
+        EntityTraversal<S, E> traversal = start(g).findById(label(), uuid)
+                                                  .map(adapter().fold(projection));
+        if (!traversal.hasNext())
+        {
+            return Optional.empty();
+        }
+
+        return Optional.of(next(traversal));
     }
 
     @Override
@@ -64,34 +350,146 @@ public abstract class GremlinRepository<S, E extends DomainObject> implements Cr
         throw new UnsupportedOperationException("TODO implement");
     }
 
+    /**
+     * @return lazy iterable, each iteration runs new traversal over the label vertices, which is closed once the
+     *         iteration is exhausted
+     */
     @Override
     public Iterable<E> findAll()
     {
-        throw new UnsupportedOperationException("TODO implement");
+        return () -> {
+            EntityTraversal<S, E> traversal = start(this::g).hasLabel(label())
+                                                            .map(adapter().fold());
+            return new Iterator<E>()
+            {
+
+                @Override
+                public boolean hasNext()
+                {
+                    if (traversal.hasNext())
+                    {
+                        return true;
+                    }
+
+                    CloseableIterator.closeIterator(traversal);
+                    return false;
+                }
+
+                @Override
+                public E next()
+                {
+                    return traversal.next();
+                }
+
+            };
+        };
+    }
+
+    /**
+     * Streams all the label vertices as entities, vertices are fetched and projected as the stream consumed. The
+     * stream should be closed to release the traversal.
+     */
+    public Stream<E> findAllAsStream()
+    {
+        return findAllAsStream(EntityProjection.all());
     }
 
+    /**
+     * Same as {@link #findAllAsStream()}, but fetches only the projection fields of the entities.
+     */
+    public Stream<E> findAllAsStream(EntityProjection projection)
+    {
+        return toStream(start(this::g).hasLabel(label())
+                                      .map(adapter().fold(projection)));
+    }
+
+    /**
+     * Fetches the page of label vertices ordered by {@code uuid}, which starts right after the provided {@code uuid}
+     * (or from the beginning if it's null). So the last entity {@code uuid} of the page is the continuation token to
+     * resume the scan with, each page is single range query over the {@code uuid} search index of the label, which
+     * also orders and limits the vertices (see {@link EntityTraversal#findAfter(String, String, int)}), and the pages
+     * are not shifted by the concurrent changes.
+     */
+    public Slice<E> findAll(String afterUuid,
+                            int pageSize)
+    {
+        return findAll(afterUuid, pageSize, EntityProjection.all());
+    }
+
+    /**
+     * Same as {@link #findAll(String, int)}, but fetches only the projection fields of the entities.
+     */
+    public Slice<E> findAll(String afterUuid,
+                            int pageSize,
+                            EntityProjection projection)
+    {
+        List<E> content = toList(start(this::g).<S>findAfter(label(), afterUuid, pageSize + 1)
+                                               .map(adapter().fold(projection)));
+        boolean hasNext = content.size() > pageSize;
+
+        return new SliceImpl<>(hasNext ? content.subList(0, pageSize) : content, PageRequest.of(0, pageSize), hasNext);
+    }
+
+    /**
+     * Fetches the entities with single indexed lookup per slice of {@link #sliceSize} ids.
+     * <p>
+     * The slices are fetched one by one within the current transaction, not in parallel: parallel slices would need
+     * their own read only transactions, so the entities saved but not committed by the caller would be found or not
+     * depending on the number of ids, and the callers running on the bounded repository executor could block waiting
+     * for the slices queued behind them. The slices still bound the size of the single {@code within()} lookup.
+     *
+     * @return found entities in order of the provided ids
+     */
     @Override
     public Iterable<E> findAllById(Iterable<String> ids)
     {
-        // TODO Auto-generated method stub
-        throw new UnsupportedOperationException("TODO implement");
+        List<String> idList = new ArrayList<>();
+        ids.forEach(idList::add);
+
+        Map<String, E> resultMap = new HashMap<>();
+        for (int i = 0; i < idList.size(); i += sliceSize)
+        {
+            resultMap.putAll(findSlice(idList.subList(i, Math.min(i + sliceSize, idList.size()))));
+        }
+
+        return idList.stream()
+                     .map(resultMap::get)
+                     .filter(Objects::nonNull)
+                     .collect(Collectors.toList());
+    }
+
+    private Map<String, E> findSlice(Collection<String> ids)
+    {
+        List<E> entities = toList(start(this::g).findById(label(), P.within(ids))
+                                                .map(adapter().fold()));
+
+        return entities.stream()
+                       .collect(Collectors.toMap(DomainObject::getUuid, Function.identity(), (e1, e2) -> e1));
     }
 
     @Override
     public long count()
     {
-        throw new UnsupportedOperationException("TODO implement");
+        return next(start(this::g).hasLabel(label())
+                                  .count());
     }
 
     @Override
     public void deleteById(String id)
     {
-        start(this::g).findById(label(), id)
-                      .flatMap(adapter().cascade())
-                      .dedup()
-                      .sideEffect(t -> logger.debug(String.format("Delete [%s]-[%s]", t.get().label(), t.get().id())))
-                      .drop()
-                      .iterate();
+        cascadeDelete(start(this::g).findById(label(), id));
+        mutated(1);
+    }
+
+    /**
+     * Same as {@link #deleteById(String)}, but executed asynchronously within separate transaction.
+     */
+    public CompletableFuture<Void> deleteByIdAsync(String id)
+    {
+        return async(unitOfWorkManager.builder(), () -> {
+            deleteById(id);
+            return null;
+        });
     }
 
     @Override
@@ -100,16 +498,110 @@ public abstract class GremlinRepository<S, E extends DomainObject> implements Cr
         deleteById(entity.getUuid());
     }
 
+    /**
+     * Deletes the entities in batches of {@link #batchSize()}, each batch is deleted with single cascade traversal and
+     * then committed (see {@link #commitBatch(boolean, int)}).
+     */
     @Override
     public void deleteAll(Iterable<? extends E> entities)
     {
-        throw new UnsupportedOperationException("TODO implement");
+        boolean ownTransaction = ownsTransaction();
+        List<String> batch = new ArrayList<>(batchSize());
+        for (E entity : entities)
+        {
+            if (entity.getUuid() == null)
+            {
+                continue;
+            }
+
+            batch.add(entity.getUuid());
+            if (batch.size() < batchSize())
+            {
+                continue;
+            }
+
+            cascadeDelete(start(this::g).findById(label(), P.within(batch)));
+            commitBatch(ownTransaction, batch.size());
+            batch.clear();
+        }
+        if (!batch.isEmpty())
+        {
+            cascadeDelete(start(this::g).findById(label(), P.within(batch)));
+            commitBatch(ownTransaction, batch.size());
+        }
     }
 
+    /**
+     * Deletes all the label vertices.
+     * <p>
+     * Within {@link GremlinUnitOfWork}, or within the JanusGraph thread-bound transaction opened by the caller, the
+     * vertices are deleted with single cascade traversal and nothing is committed, it's up to the caller to commit.
+     * Otherwise the vertex ids are streamed with single traversal within separate read only transaction, and the
+     * vertices are deleted in batches of {@link #batchSize()}, each batch committed.
+     */
     @Override
     public void deleteAll()
     {
-        throw new UnsupportedOperationException("TODO implement");
+        if (!ownsTransaction())
+        {
+            mutated(cascadeDelete(start(this::g).hasLabel(label())));
+            return;
+        }
+
+        JanusGraphTransaction tx = janusGraph.buildTransaction().readOnly().start();
+        Traversal<S, Object> ids = start(() -> tx.traversal(EntityTraversalSource.class)).hasLabel(label()).id();
+        try
+        {
+            List<Object> batch = new ArrayList<>(batchSize());
+            while (ids.hasNext())
+            {
+                batch.add(ids.next());
+                if (batch.size() < batchSize())
+                {
+                    continue;
+                }
+
+                cascadeDelete(start(this::g).hasId(P.within(batch)));
+                janusGraph.tx().commit();
+                batch.clear();
+            }
+            if (!batch.isEmpty())
+            {
+                cascadeDelete(start(this::g).hasId(P.within(batch)));
+                janusGraph.tx().commit();
+            }
+        }
+        finally
+        {
+            CloseableIterator.closeIterator(ids);
+            tx.rollback();
+        }
+    }
+
+    /**
+     * Drops the vertices along with their cascade. The cascade vertices are collected before the drop, and the ones
+     * shared between the deleted vertices are dropped once. The affected cached entities are collected before the
+     * drop too, and invalidated once the deletion is committed.
+     *
+     * @return the number of the dropped vertices
+     */
+    private int cascadeDelete(EntityTraversal<S, S> traversal)
+    {
+        AtomicInteger dropped = new AtomicInteger();
+        Set<String> invalidated = new HashSet<>();
+        traversal.flatMap(adapter().cascade())
+                 .dedup()
+                 .barrier()
+                 .sideEffect(t -> {
+                     logger.debug(String.format("Delete [%s]-[%s]", t.get().label(), t.get().id()));
+                     dropped.incrementAndGet();
+                 })
+                 .sideEffect(collectInvalidated(invalidated))
+                 .drop()
+                 .iterate();
+        invalidateAfterCommit(invalidated);
+
+        return dropped.get();
     }
 
 }
@@ -1,11 +1,20 @@
 package org.carlspring.strongbox.janusgraph.gremlin.repositories;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Supplier;
+import java.util.stream.IntStream;
 
 import org.apache.tinkerpop.gremlin.structure.Vertex;
 import org.carlspring.strongbox.janusgraph.domain.DomainObject;
 import org.carlspring.strongbox.janusgraph.gremlin.dsl.EntityTraversal;
 import org.carlspring.strongbox.janusgraph.gremlin.dsl.EntityTraversalSource;
+import org.carlspring.strongbox.janusgraph.gremlin.dsl.__;
 
 public abstract class GremlinVertexRepository<E extends DomainObject> extends GremlinRepository<Vertex, E>
 {
@@ -13,17 +22,106 @@ public abstract class GremlinVertexRepository<E extends DomainObject> extends Gr
     @Override
     public <R extends E> R save(R entity)
     {
-        Vertex resultVertex = start(this::g).saveV(label(), entity.getUuid(), adapter().unfold(entity))
-                                            .next();
-        E resultEntity = findById(resultVertex.<String>property("uuid").value()).get();
+        Set<String> invalidated = new HashSet<>();
+        E resultEntity = next(start(this::g).saveV(label(), entity.getUuid(), adapter().unfold(entity))
+                                            .sideEffect(collectInvalidated(invalidated))
+                                            .map(adapter().fold()));
+        invalidateAfterCommit(invalidated);
+        mutated(1);
 
         return (R) resultEntity;
     }
-    
+
+    /**
+     * Same as {@link #save(DomainObject)}, but executed asynchronously within separate transaction.
+     */
+    public <R extends E> CompletableFuture<R> saveAsync(R entity)
+    {
+        return async(unitOfWorkManager().builder(), () -> save(entity));
+    }
+
+    /**
+     * Saves the entity same as {@link #save(DomainObject)} does, but without the entity projection.
+     *
+     * @return the saved vertex id
+     */
+    public Object saveAndForget(E entity)
+    {
+        Set<String> invalidated = new HashSet<>();
+        Object vertexId = next(start(this::g).saveV(label(), entity.getUuid(), adapter().unfold(entity))
+                                             .sideEffect(collectInvalidated(invalidated))
+                                             .id());
+        invalidateAfterCommit(invalidated);
+        mutated(1);
+
+        return vertexId;
+    }
+
+    /**
+     * Saves the entities in batches of {@link #batchSize()}, each batch is saved with single traversal and then
+     * committed (see {@link #commitBatch(boolean, int)}).
+     */
+    @Override
+    public <R extends E> Iterable<R> saveAll(Iterable<R> entities)
+    {
+        boolean ownTransaction = ownsTransaction();
+        List<R> result = new ArrayList<>();
+
+        List<R> batch = new ArrayList<>(batchSize());
+        for (R entity : entities)
+        {
+            batch.add(entity);
+            if (batch.size() < batchSize())
+            {
+                continue;
+            }
+
+            result.addAll(saveBatch(batch));
+            commitBatch(ownTransaction, batch.size());
+            batch.clear();
+        }
+        if (!batch.isEmpty())
+        {
+            result.addAll(saveBatch(batch));
+            commitBatch(ownTransaction, batch.size());
+        }
+
+        return result;
+    }
+
+    /**
+     * Saves the batch with single traversal, the batch is committed by {@link #saveAll(Iterable)}.
+     */
+    protected <R extends E> List<R> saveBatch(List<R> batch)
+    {
+        String[] keys = IntStream.range(0, batch.size()).mapToObj(String::valueOf).toArray(String[]::new);
+
+        EntityTraversal<Integer, Map<String, Object>> t = g().inject(0)
+                                                             .project(keys[0], Arrays.copyOfRange(keys, 1, keys.length));
+        Set<String> invalidated = new HashSet<>();
+        for (R entity : batch)
+        {
+            t = t.by(__.<Integer>V()
+                       .saveV(label(), entity.getUuid(), adapter().unfold(entity))
+                       .sideEffect(collectInvalidated(invalidated))
+                       .map(adapter().fold()));
+        }
+        Map<String, Object> resultMap = next(t);
+        invalidateAfterCommit(invalidated);
+
+        List<R> result = new ArrayList<>(batch.size());
+        for (String key : keys)
+        {
+            result.add((R) resultMap.get(key));
+        }
+
+        return result;
+    }
+
     @Override
     public EntityTraversal<Vertex, Vertex> start(Supplier<EntityTraversalSource> g)
     {
         return g.get().V();
     }
 
-}
\ No newline at end of file
+}
@@ -27,16 +27,36 @@ public class RepositoryArtifactIdGroupRepository extends GremlinVertexRepository
 
     @Override
     public <R extends RepositoryArtifactIdGroupEntity> R save(R entity)
+    {
+        resolveUuid(entity);
+
+        return super.save(entity);
+    }
+
+    @Override
+    public Object saveAndForget(RepositoryArtifactIdGroupEntity entity)
+    {
+        resolveUuid(entity);
+
+        return super.saveAndForget(entity);
+    }
+
+    @Override
+    public <R extends RepositoryArtifactIdGroupEntity> Iterable<R> saveAll(Iterable<R> entities)
+    {
+        entities.forEach(this::resolveUuid);
+
+        return super.saveAll(entities);
+    }
+
+    private void resolveUuid(RepositoryArtifactIdGroupEntity entity)
     {
         ArtifactGroupEntity artifactGroup = entity.getArtifactGroup();
 
-        Object optionalUuid = start(this::g).saveV(ArtifactGroup.LABEL, artifactGroup.getUuid(), __.identity())
-                                            .enrichPropertyValue("uuid")
-                                            .next();
+        Object optionalUuid = next(start(this::g).saveV(ArtifactGroup.LABEL, artifactGroup.getUuid(), __.identity())
+                                                 .enrichPropertyValue("uuid"));
         String uuid = EntityTraversalUtils.extractObject(String.class, optionalUuid);
         entity.setUuid(uuid);
-
-        return super.save(entity);
     }
 
 }
\ No newline at end of file
@@ -3,20 +3,21 @@ package org.carlspring.strongbox.janusgraph.gremlin.repositories.adapters;
 import static org.apache.tinkerpop.gremlin.structure.VertexProperty.Cardinality.set;
 import static org.apache.tinkerpop.gremlin.structure.VertexProperty.Cardinality.single;
 import static org.carlspring.strongbox.janusgraph.gremlin.repositories.adapters.EntityTraversalUtils.extractDate;
-import static org.carlspring.strongbox.janusgraph.gremlin.repositories.adapters.EntityTraversalUtils.extractList;
 import static org.carlspring.strongbox.janusgraph.gremlin.repositories.adapters.EntityTraversalUtils.extractObject;
+import static org.carlspring.strongbox.janusgraph.gremlin.repositories.adapters.EntityTraversalUtils.extractValue;
+import static org.carlspring.strongbox.janusgraph.gremlin.repositories.adapters.EntityTraversalUtils.extractValues;
+import static org.carlspring.strongbox.janusgraph.gremlin.repositories.adapters.EntityTraversalUtils.valueMapEntries;
 
-import java.text.SimpleDateFormat;
+import java.util.Date;
 import java.util.HashSet;
 import java.util.Map;
-import java.util.Optional;
 import java.util.Set;
 
 import javax.inject.Inject;
 
+import org.apache.tinkerpop.gremlin.process.traversal.P;
 import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
 import org.apache.tinkerpop.gremlin.structure.Edge;
-import org.apache.tinkerpop.gremlin.structure.Element;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
 import org.carlspring.strongbox.janusgraph.domain.Artifact;
 import org.carlspring.strongbox.janusgraph.domain.ArtifactCoordinates;
@@ -28,6 +29,7 @@ import org.carlspring.strongbox.janusgraph.gremlin.dsl.__;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
 
 @Component
 public class ArtifactAdapter extends VertexEntityTraversalAdapter<ArtifactEntity>
@@ -45,20 +47,26 @@ public class ArtifactAdapter extends VertexEntityTraversalAdapter<ArtifactEntity
     }
 
     @Override
-    public EntityTraversal<Vertex, ArtifactEntity> fold()
+    protected EntityTraversal<Vertex, ArtifactEntity> foldTraversal(EntityProjection projection)
     {
-        return __.<Vertex, Object>project("uuid", "storageId", "repositoryId", "sizeInBytes", "created", "tags",
-                                          "artifactCoordinates")
-                 .by(__.enrichPropertyValue("uuid"))
-                 .by(__.enrichPropertyValue("storageId"))
-                 .by(__.enrichPropertyValue("repositoryId"))
-                 .by(__.enrichPropertyValue("sizeInBytes"))
-                 .by(__.enrichPropertyValue("created"))
-                 .by(__.enrichPropertyValues("tags"))
+        String[] properties = projection.properties("storageId", "repositoryId", "sizeInBytes", "created", "tags");
+        if (projection.includes("created"))
+        {
+            properties = StringUtils.addStringToArray(properties, "createdAt");
+        }
+        if (!projection.includes("artifactCoordinates"))
+        {
+            return __.<Vertex, Object>project("properties")
+                     .by(__.valueMap(properties))
+                     .map(this::map);
+        }
+
+        return __.<Vertex, Object>project("properties", "artifactCoordinates")
+                 .by(__.valueMap(properties))
                  .by(__.outE(Edges.ARTIFACT_ARTIFACTCOORDINATES)
                        .mapToObject(__.inV()
                                       .hasLabel(ArtifactCoordinates.LABEL)
-                                      .map(artifactCoordinatesAdapter.fold())
+                                      .map(artifactCoordinatesAdapter.fold(projection.nested("artifactCoordinates")))
                                       .map(EntityTraversalUtils::castToObject)))
                  .map(this::map);
     }
@@ -66,23 +74,55 @@ public class ArtifactAdapter extends VertexEntityTraversalAdapter<ArtifactEntity
     private ArtifactEntity map(Traverser<Map<String, Object>> t)
     {
         ArtifactEntity result = new ArtifactEntity();
-        result.setUuid(extractObject(String.class, t.get().get("uuid")));
-        result.setStorageId(extractObject(String.class, t.get().get("storageId")));
-        result.setRepositoryId(extractObject(String.class, t.get().get("repositoryId")));
-        result.setSizeInBytes(extractObject(Long.class, t.get().get("sizeInBytes")));
-        result.setCreated(extractDate(t.get().get("created")));
-        result.setTags(Optional.ofNullable(extractList(String.class, t.get().get("tags")))
-                               .map(HashSet::new)
-                               .orElse(null));
+        for (Map.Entry<String, Object> property : valueMapEntries(t.get().get("properties")))
+        {
+            switch (property.getKey())
+            {
+            case "uuid":
+                result.setUuid(extractValue(String.class, property.getValue()));
+                break;
+            case "storageId":
+                result.setStorageId(extractValue(String.class, property.getValue()));
+                break;
+            case "repositoryId":
+                result.setRepositoryId(extractValue(String.class, property.getValue()));
+                break;
+            case "sizeInBytes":
+                result.setSizeInBytes(extractValue(Long.class, property.getValue()));
+                break;
+            case "createdAt":
+                result.setCreated(extractValue(Date.class, property.getValue()));
+                break;
+            case "created":
+                // legacy value, used until the native one is migrated
+                if (result.getCreated() == null)
+                {
+                    result.setCreated(extractDate(extractValue(String.class, property.getValue())));
+                }
+                break;
+            case "tags":
+                result.setTags(new HashSet<>(extractValues(String.class, property.getValue())));
+                break;
+            default:
+                break;
+            }
+        }
         result.setArtifactCoordinates(extractObject(ArtifactCoordinates.class, t.get().get("artifactCoordinates")));
 
         return result;
     }
 
+    /**
+     * The coordinates are not saved if there are none, the same as the other fields without values.
+     */
     @Override
     public EntityTraversal<Vertex, Vertex> unfold(ArtifactEntity entity)
     {
         ArtifactCoordinatesEntity artifactCoordinates = entity.getArtifactCoordinates();
+        if (artifactCoordinates == null)
+        {
+            return unfoldArtifact(entity);
+        }
 
         return __.<Vertex, Edge>coalesce(updateArtifactCoordinates(artifactCoordinates),
                                          createArtifactCoordinates(artifactCoordinates))
@@ -116,8 +156,6 @@ public class ArtifactAdapter extends VertexEntityTraversalAdapter<ArtifactEntity
 
     private EntityTraversal<Vertex, Vertex> unfoldArtifact(ArtifactEntity entity)
     {
-        SimpleDateFormat sdf = new SimpleDateFormat(EntityTraversalUtils.DATE_FORMAT);
-
         EntityTraversal<Vertex, Vertex> t = __.<Vertex>identity();
 
         if (entity.getStorageId() != null)
@@ -134,7 +172,8 @@ public class ArtifactAdapter extends VertexEntityTraversalAdapter<ArtifactEntity
         }
         if (entity.getCreated() != null)
         {
-            t = t.property(single, "created", sdf.format(entity.getCreated()));
+            t = t.property(single, "createdAt", entity.getCreated())
+                 .property(single, "created", EntityTraversalUtils.formatDate(entity.getCreated()));
         }
 
         if (entity.getTags() != null)
@@ -152,15 +191,37 @@ public class ArtifactAdapter extends VertexEntityTraversalAdapter<ArtifactEntity
     }
 
     @Override
-    public EntityTraversal<Vertex, ? extends Element> cascade()
+    public ArtifactEntity copy(ArtifactEntity entity)
+    {
+        ArtifactEntity result = new ArtifactEntity();
+        result.setUuid(entity.getUuid());
+        result.setStorageId(entity.getStorageId());
+        result.setRepositoryId(entity.getRepositoryId());
+        result.setSizeInBytes(entity.getSizeInBytes());
+        result.setCreated(entity.getCreated() == null ? null : new Date(entity.getCreated().getTime()));
+        result.setTags(entity.getTags() == null ? null : new HashSet<>(entity.getTags()));
+        result.setArtifactCoordinates(entity.getArtifactCoordinates() == null ? null
+                : artifactCoordinatesAdapter.copy(entity.getArtifactCoordinates()));
+
+        return result;
+    }
+
+    /**
+     * Deleted artifacts are aggregated into "x", so the {@link ArtifactCoordinates} shared between the artifacts
+     * deleted within the same traversal are deleted along with the last of them.
+     */
+    @Override
+    protected EntityTraversal<Vertex, Vertex> cascadeTraversal()
     {
         return __.<Vertex>aggregate("x")
-                 .optional(__.outE(Edges.ARTIFACT_ARTIFACTCOORDINATES)
-                             .inV()
-                             .where(__.inE(Edges.ARTIFACT_ARTIFACTCOORDINATES).count().is(1))
-                             .aggregate("x"))
-                 .select("x")
-                 .unfold();
+                 .union(__.<Vertex>identity(),
+                        __.<Vertex>outE(Edges.ARTIFACT_ARTIFACTCOORDINATES)
+                          .inV()
+                          .where(__.inE(Edges.ARTIFACT_ARTIFACTCOORDINATES)
+                                   .outV()
+                                   .where(P.without("x"))
+                                   .count()
+                                   .is(0)));
     }
 
 }
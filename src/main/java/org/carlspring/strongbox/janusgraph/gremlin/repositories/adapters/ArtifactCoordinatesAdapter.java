@@ -1,12 +1,12 @@
 package org.carlspring.strongbox.janusgraph.gremlin.repositories.adapters;
 
-import static org.apache.tinkerpop.gremlin.structure.VertexProperty.Cardinality.single;
-import static org.carlspring.strongbox.janusgraph.gremlin.repositories.adapters.EntityTraversalUtils.extractObject;
+import static org.carlspring.strongbox.janusgraph.gremlin.repositories.adapters.EntityTraversalUtils.extractValue;
+import static org.carlspring.strongbox.janusgraph.gremlin.repositories.adapters.EntityTraversalUtils.valueMapEntries;
 
+import java.util.HashMap;
 import java.util.Map;
 
 import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
-import org.apache.tinkerpop.gremlin.structure.Element;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
 import org.carlspring.strongbox.janusgraph.domain.ArtifactCoordinates;
 import org.carlspring.strongbox.janusgraph.domain.ArtifactCoordinatesEntity;
@@ -26,21 +26,32 @@ public class ArtifactCoordinatesAdapter extends VertexEntityTraversalAdapter<Art
     }
 
     @Override
-    public EntityTraversal<Vertex, ArtifactCoordinatesEntity> fold()
+    protected EntityTraversal<Vertex, ArtifactCoordinatesEntity> foldTraversal(EntityProjection projection)
     {
-        return __.<Vertex, Object>project("uuid", "path", "version")
-                 .by(__.enrichPropertyValue("uuid"))
-                 .by(__.enrichPropertyValue("path"))
-                 .by(__.enrichPropertyValue("version"))
+        return __.<Vertex, Object>valueMap(projection.properties("path", "version"))
                  .map(this::map);
     }
 
-    private ArtifactCoordinatesEntity map(Traverser<Map<String, Object>> t)
+    private ArtifactCoordinatesEntity map(Traverser<Map<Object, Object>> t)
     {
         ArtifactCoordinatesEntity result = new ArtifactCoordinatesEntity();
-        result.setUuid(extractObject(String.class, t.get().get("uuid")));
-        result.setVersion(extractObject(String.class, t.get().get("version")));
-        result.setPath(extractObject(String.class, t.get().get("path")));
+        for (Map.Entry<String, Object> property : valueMapEntries(t.get()))
+        {
+            switch (property.getKey())
+            {
+            case "uuid":
+                result.setUuid(extractValue(String.class, property.getValue()));
+                break;
+            case "path":
+                result.setPath(extractValue(String.class, property.getValue()));
+                break;
+            case "version":
+                result.setVersion(extractValue(String.class, property.getValue()));
+                break;
+            default:
+                break;
+            }
+        }
 
         return result;
     }
@@ -48,29 +59,39 @@ public class ArtifactCoordinatesAdapter extends VertexEntityTraversalAdapter<Art
     @Override
     public EntityTraversal<Vertex, Vertex> unfold(ArtifactCoordinatesEntity entity)
     {
-        EntityTraversal<Vertex, Vertex> t = __.<Vertex>identity();
+        return __.<Vertex>identity().setProperties(unfoldProperties(entity));
+    }
 
-        if (entity.getPath() != null)
-        {
-            t = t.property(single, "path", entity.getPath());
-        }
-        if (entity.getVersion() != null)
-        {
-            t = t.property(single, "version", entity.getVersion());
-        }
+    @Override
+    public ArtifactCoordinatesEntity copy(ArtifactCoordinatesEntity entity)
+    {
+        ArtifactCoordinatesEntity result = new ArtifactCoordinatesEntity();
+        result.setUuid(entity.getUuid());
+        result.setPath(entity.getPath());
+        result.setVersion(entity.getVersion());
+
+        return result;
+    }
+
+    /**
+     * @return the vertex properties of the entity along with the {@code uuid}, saved by both
+     *         {@link #unfold(ArtifactCoordinatesEntity)} and the {@code saveAllV()} batches
+     */
+    public Map<String, Object> unfoldProperties(ArtifactCoordinatesEntity entity)
+    {
+        Map<String, Object> result = new HashMap<>();
+        result.put("uuid", entity.getUuid());
+        result.put("path", entity.getPath());
+        result.put("version", entity.getVersion());
 
-        return t;
+        return result;
     }
 
     @Override
-    public EntityTraversal<Vertex, ? extends Element> cascade()
+    protected EntityTraversal<Vertex, Vertex> cascadeTraversal()
     {
-        return __.<Vertex>aggregate("x")
-                 .inE(Edges.ARTIFACT_ARTIFACTCOORDINATES)
-                 .outV()
-                 .aggregate("x")
-                 .select("x")
-                 .unfold();
+        return __.<Vertex, Vertex>union(__.<Vertex>identity(),
+                                        __.<Vertex>inE(Edges.ARTIFACT_ARTIFACTCOORDINATES).outV());
     }
 
 }
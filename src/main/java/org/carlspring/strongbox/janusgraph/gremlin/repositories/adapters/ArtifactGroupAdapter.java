@@ -2,27 +2,40 @@ package org.carlspring.strongbox.janusgraph.gremlin.repositories.adapters;
 
 import static org.apache.tinkerpop.gremlin.structure.VertexProperty.Cardinality.single;
 import static org.carlspring.strongbox.janusgraph.gremlin.repositories.adapters.EntityTraversalUtils.extractObject;
+import static org.carlspring.strongbox.janusgraph.gremlin.repositories.adapters.EntityTraversalUtils.extractValue;
+import static org.carlspring.strongbox.janusgraph.gremlin.repositories.adapters.EntityTraversalUtils.valueMapEntries;
 
-import java.util.Collection;
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 import javax.inject.Inject;
 
-import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.P;
 import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
+import org.apache.tinkerpop.gremlin.structure.Direction;
 import org.apache.tinkerpop.gremlin.structure.Edge;
-import org.apache.tinkerpop.gremlin.structure.Element;
+import org.apache.tinkerpop.gremlin.structure.Graph;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.structure.util.CloseableIterator;
 import org.carlspring.strongbox.janusgraph.domain.Artifact;
 import org.carlspring.strongbox.janusgraph.domain.ArtifactEntity;
 import org.carlspring.strongbox.janusgraph.domain.ArtifactGroup;
 import org.carlspring.strongbox.janusgraph.domain.ArtifactGroupEntity;
 import org.carlspring.strongbox.janusgraph.domain.Edges;
 import org.carlspring.strongbox.janusgraph.gremlin.dsl.EntityTraversal;
+import org.carlspring.strongbox.janusgraph.gremlin.dsl.EntityTraversalSource;
 import org.carlspring.strongbox.janusgraph.gremlin.dsl.__;
+import org.janusgraph.core.JanusGraph;
+import org.janusgraph.core.JanusGraphTransaction;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 /**
@@ -38,37 +51,175 @@ public class ArtifactGroupAdapter extends VertexEntityTraversalAdapter<ArtifactG
     @Inject
     private ArtifactAdapter artifactAdapter;
 
+    @Inject
+    private JanusGraph janusGraph;
+
+    @Value("${strongbox.graph.gremlin.repositories.lazyPageSize:500}")
+    private int pageSize;
+
     @Override
     public String getLabel()
     {
         return ArtifactGroup.LABEL;
     }
 
+    /**
+     * The artifacts are not fetched with the group, only their vertex ids are. The artifacts are fetched page by page
+     * on first access (see {@link LazyPagedSet}).
+     */
     @Override
-    public EntityTraversal<Vertex, ArtifactGroupEntity> fold()
+    protected EntityTraversal<Vertex, ArtifactGroupEntity> foldTraversal(EntityProjection projection)
+    {
+        String[] properties = projection.properties("groupId");
+        if (!projection.includes("artifacts"))
+        {
+            return __.<Vertex, Object>project("id", "properties")
+                     .by(__.id())
+                     .by(__.valueMap(properties))
+                     .map(t -> map(t, null));
+        }
+
+        EntityProjection artifactsProjection = projection.nested("artifacts");
+        return __.<Vertex, Object>project("id", "properties", "vertex", "artifactIds")
+                 .by(__.id())
+                 .by(__.valueMap(properties))
+                 .by(__.identity())
+                 .by(__.outE(Edges.ARTIFACTGROUP_ARTIFACT).inV().id().fold())
+                 .map(t -> map(t, artifactsProjection));
+    }
+
+    private ArtifactGroupEntity map(Traverser<Map<String, Object>> t,
+                                    EntityProjection artifactsProjection)
+    {
+        Object vertexId = t.get().get("id");
+
+        ArtifactGroupEntity result = new ArtifactGroupEntity();
+        for (Map.Entry<String, Object> property : valueMapEntries(t.get().get("properties")))
+        {
+            switch (property.getKey())
+            {
+            case "uuid":
+                result.setUuid(extractValue(String.class, property.getValue()));
+                break;
+            case "groupId":
+                result.setGroupId(extractValue(String.class, property.getValue()));
+                break;
+            default:
+                break;
+            }
+        }
+        if (artifactsProjection == null)
+        {
+            // Artifacts were not fetched, so they will not be saved
+            result.setArtifacts(null);
+
+            return result;
+        }
+
+        Graph tx = extractObject(Vertex.class, t.get().get("vertex")).graph();
+        JanusGraphTransaction groupTx = tx instanceof JanusGraphTransaction ? (JanusGraphTransaction) tx : null;
+        Thread groupThread = Thread.currentThread();
+        List<?> artifactIds = extractObject(List.class, t.get().get("artifactIds"));
+        result.setArtifacts(new LazyPagedSet<>(artifactIds,
+                                               pageSize,
+                                               ids -> fetchArtifacts(groupTx, groupThread, vertexId, ids,
+                                                                     artifactsProjection)));
+
+        return result;
+    }
+
+    /**
+     * Fetches the artifacts within the transaction which the group was fetched with, so the artifacts are consistent
+     * with the group. JanusGraph transactions are not thread safe, so that transaction is used only by the thread
+     * which fetched the group, and only while it is open. Otherwise the artifacts are fetched within new read only
+     * transaction, but never within the transaction of the thread which accesses the artifacts.
+     */
+    private Map<Object, ArtifactEntity> fetchArtifacts(JanusGraphTransaction groupTx,
+                                                       Thread groupThread,
+                                                       Object vertexId,
+                                                       List<?> artifactIds,
+                                                       EntityProjection projection)
     {
-        return __.<Vertex, Object>project("uuid", "groupId", "artifacts")
-                 .by(__.enrichPropertyValue("uuid"))
-                 .by(__.enrichPropertyValue("groupId"))
-                 .by(__.outE(Edges.ARTIFACTGROUP_ARTIFACT)
-                       .mapToObject(__.inV()
-                                      .hasLabel(Artifact.LABEL)
-                                      .map(artifactAdapter.fold())
-                                      .map(EntityTraversalUtils::castToObject))
-                       .fold())
-                 .map(this::map);
+        logger.debug(String.format("Fetch [%s] artifacts of [%s]", artifactIds.size(), vertexId));
+
+        if (groupTx != null && groupTx.isOpen() && groupThread == Thread.currentThread())
+        {
+            return fetchArtifacts(groupTx, artifactIds, projection);
+        }
+
+        JanusGraphTransaction tx = janusGraph.buildTransaction().readOnly().start();
+        try
+        {
+            return fetchArtifacts(tx, artifactIds, projection);
+        }
+        finally
+        {
+            tx.rollback();
+        }
+    }
+
+    private Map<Object, ArtifactEntity> fetchArtifacts(JanusGraphTransaction tx,
+                                                       List<?> artifactIds,
+                                                       EntityProjection projection)
+    {
+        EntityTraversal<Vertex, Map<String, Object>> traversal = tx.traversal(EntityTraversalSource.class)
+                                                                   .V(artifactIds.toArray())
+                                                                   .hasLabel(Artifact.LABEL)
+                                                                   .<Object>project("id", "artifact")
+                                                                   .by(__.id())
+                                                                   .by(artifactAdapter.fold(projection));
+        try
+        {
+            Map<Object, ArtifactEntity> result = new LinkedHashMap<>();
+            traversal.forEachRemaining(a -> result.put(a.get("id"), (ArtifactEntity) a.get("artifact")));
+
+            return result;
+        }
+        finally
+        {
+            CloseableIterator.closeIterator(traversal);
+        }
     }
 
-    private ArtifactGroupEntity map(Traverser<Map<String, Object>> t)
+    /**
+     * The artifacts which were not modified are not copied, the copy fetches them on its own.
+     */
+    @Override
+    public ArtifactGroupEntity copy(ArtifactGroupEntity entity)
     {
         ArtifactGroupEntity result = new ArtifactGroupEntity();
-        result.setUuid(extractObject(String.class, t.get().get("uuid")));
-        result.setGroupId(extractObject(String.class, t.get().get("groupId")));
-        result.setArtifacts(new HashSet<>((Collection<ArtifactEntity>) t.get().get("artifacts")));
+        result.setUuid(entity.getUuid());
+        result.setGroupId(entity.getGroupId());
+
+        Set<ArtifactEntity> artifacts = entity.getArtifacts();
+        if (artifacts instanceof LazyPagedSet && !((LazyPagedSet<?>) artifacts).isModified())
+        {
+            result.setArtifacts(((LazyPagedSet<ArtifactEntity>) artifacts).copy());
+        }
+        else if (artifacts != null)
+        {
+            result.setArtifacts(artifacts.stream()
+                                         .map(artifactAdapter::copy)
+                                         .collect(Collectors.toCollection(HashSet::new)));
+        }
+        else
+        {
+            result.setArtifacts(null);
+        }
 
         return result;
     }
 
+    /**
+     * Only the membership changes are saved with the group, the artifacts which are members already are never saved
+     * with the group, their changes should be saved with the {@code ArtifactRepository}. The same applies whether the
+     * artifacts were modified or not.
+     * <p>
+     * If the artifacts were fetched with the group, only the edges to the removed artifacts are dropped, by the vertex
+     * ids fetched with the group, and only the added artifacts are saved and linked. Otherwise (new group or replaced
+     * artifacts) the group edges are iterated to drop the edges to the artifacts which are not provided, and the
+     * provided artifacts which are not linked yet are saved and linked.
+     */
     @Override
     public EntityTraversal<Vertex, Vertex> unfold(ArtifactGroupEntity entity)
     {
@@ -78,36 +229,106 @@ public class ArtifactGroupAdapter extends VertexEntityTraversalAdapter<ArtifactG
         {
             t = t.property(single, "groupId", entity.getGroupId());
         }
-        t = t.optional(__.outE(Edges.ARTIFACTGROUP_ARTIFACT).drop().outV());
-        if (entity.getArtifacts() != null)
+        if (entity.getArtifacts() == null)
+        {
+            return t;
+        }
+        if (entity.getArtifacts() instanceof LazyPagedSet)
+        {
+            return unfoldChanges(t, (LazyPagedSet<ArtifactEntity>) entity.getArtifacts());
+        }
+
+        Set<String> artifactIds = entity.getArtifacts()
+                                        .stream()
+                                        .map(ArtifactEntity::getUuid)
+                                        .filter(Objects::nonNull)
+                                        .collect(Collectors.toSet());
+        Set<String> memberIds = new HashSet<>();
+        t = t.sideEffect(v -> unlinkArtifacts(v.get(), artifactIds, memberIds));
+
+        for (ArtifactEntity artifactEntity : entity.getArtifacts())
+        {
+            String artifactId = artifactEntity.getUuid();
+            if (artifactId == null)
+            {
+                t = t.sideEffect(addArtifact(artifactEntity));
+                continue;
+            }
+
+            t = t.choose(v -> memberIds.contains(artifactId),
+                         __.<Vertex>identity(),
+                         __.<Vertex>sideEffect(addArtifact(artifactEntity)));
+        }
+
+        return t;
+    }
+
+    private EntityTraversal<Vertex, Vertex> unfoldChanges(EntityTraversal<Vertex, Vertex> t,
+                                                          LazyPagedSet<ArtifactEntity> artifacts)
+    {
+        if (!artifacts.isModified())
         {
-            int i = 0;
-            for (ArtifactEntity artifactEntity : entity.getArtifacts())
+            return t;
+        }
+
+        t = t.as(ArtifactGroup.LABEL);
+
+        Set<Object> removedIds = artifacts.getRemovedIds();
+        if (!removedIds.isEmpty())
+        {
+            t = t.sideEffect(__.<Vertex>V(removedIds.toArray())
+                               .inE(Edges.ARTIFACTGROUP_ARTIFACT)
+                               .where(__.outV().where(P.eq(ArtifactGroup.LABEL)))
+                               .drop());
+        }
+        for (ArtifactEntity artifactEntity : artifacts.getAdded())
+        {
+            if (artifactEntity.getUuid() == null)
             {
-                t = t.addE(Edges.ARTIFACTGROUP_ARTIFACT)
-                     .to(__.coalesce(updateArtifact(i++, artifactEntity),
-                                     createArtifact(i++, artifactEntity)))
-                     .outV();
+                t = t.sideEffect(addArtifact(artifactEntity));
+                continue;
             }
+
+            // The artifact could have been linked with another instance
+            t = t.sideEffect(__.<Vertex, Vertex>map(saveArtifact(artifactEntity))
+                               .not(__.inE(Edges.ARTIFACTGROUP_ARTIFACT)
+                                      .outV()
+                                      .where(P.eq(ArtifactGroup.LABEL)))
+                               .addE(Edges.ARTIFACTGROUP_ARTIFACT)
+                               .from(ArtifactGroup.LABEL));
         }
 
         return t;
     }
 
-    private Traversal<Edge, Vertex> createArtifact(int i,
-                                                   ArtifactEntity artifactEntity)
+    /**
+     * Drops the group edges to the artifacts which are not provided, and collects the uuids of the remaining ones.
+     */
+    private static void unlinkArtifacts(Vertex artifactGroup,
+                                        Set<String> artifactIds,
+                                        Set<String> memberIds)
     {
-        String alias = String.format("%s_%s", Edges.ARTIFACTGROUP_ARTIFACT, i);
-        return this.<Edge>saveArtifact(artifactEntity);
+        memberIds.clear();
+
+        List<Edge> unlinked = new ArrayList<>();
+        artifactGroup.edges(Direction.OUT, Edges.ARTIFACTGROUP_ARTIFACT).forEachRemaining(e -> {
+            String memberId = e.inVertex().value("uuid");
+            if (artifactIds.contains(memberId))
+            {
+                memberIds.add(memberId);
+            }
+            else
+            {
+                unlinked.add(e);
+            }
+        });
+        unlinked.forEach(Edge::remove);
     }
 
-    private Traversal<Edge, Vertex> updateArtifact(int i,
-                                                   ArtifactEntity artifactEntity)
+    private EntityTraversal<Vertex, Edge> addArtifact(ArtifactEntity artifactEntity)
     {
-        String alias = String.format("%s_%s", Edges.ARTIFACTGROUP_ARTIFACT, i);
-        return __.<Vertex, Edge>findById(Artifact.LABEL, artifactEntity.getUuid())
-                 .map(saveArtifact(artifactEntity))
-                 .select(alias);
+        return __.<Vertex>addE(Edges.ARTIFACTGROUP_ARTIFACT)
+                 .to(saveArtifact(artifactEntity));
     }
 
     private <S2> EntityTraversal<S2, Vertex> saveArtifact(ArtifactEntity artifact)
@@ -119,14 +340,12 @@ public class ArtifactGroupAdapter extends VertexEntityTraversalAdapter<ArtifactG
     }
 
     @Override
-    public EntityTraversal<Vertex, ? extends Element> cascade()
+    protected EntityTraversal<Vertex, Vertex> cascadeTraversal()
     {
-        return __.<Vertex>aggregate("x")
-                 .outE(Edges.ARTIFACTGROUP_ARTIFACT)
-                 .inV()
-                 .map(artifactAdapter.cascade())
-                 .select("x")
-                 .unfold();
+        return __.<Vertex, Vertex>union(__.<Vertex>identity(),
+                                        __.<Vertex>outE(Edges.ARTIFACTGROUP_ARTIFACT)
+                                          .inV()
+                                          .flatMap(artifactAdapter.cascade()));
     }
 
 }
@@ -0,0 +1,115 @@
+package org.carlspring.strongbox.janusgraph.gremlin.repositories.adapters;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Describes the entity fields to be fetched by {@link EntityTraversalAdapter#fold(EntityProjection)}. The fields of
+ * related entities are specified with the relation field name prefix, like {@code "artifactCoordinates.path"}, and the
+ * relation field name alone means all the related entity fields. The {@code uuid} is always fetched.
+ *
+ * <pre>
+ * artifactRepository.findById(uuid, EntityProjection.of("sizeInBytes", "artifactCoordinates.path"));
+ * </pre>
+ */
+public final class EntityProjection
+{
+
+    private static final EntityProjection ALL = new EntityProjection(null);
+
+    private final Set<String> fields;
+
+    private EntityProjection(Set<String> fields)
+    {
+        this.fields = fields;
+    }
+
+    public static EntityProjection all()
+    {
+        return ALL;
+    }
+
+    public static EntityProjection of(String... fields)
+    {
+        return new EntityProjection(Collections.unmodifiableSet(new HashSet<>(Arrays.asList(fields))));
+    }
+
+    public boolean isAll()
+    {
+        return fields == null;
+    }
+
+    /**
+     * @return true if the field or any of its nested fields should be fetched
+     */
+    public boolean includes(String field)
+    {
+        if (isAll())
+        {
+            return true;
+        }
+
+        String prefix = field + ".";
+        return fields.stream().anyMatch(f -> f.equals(field) || f.startsWith(prefix));
+    }
+
+    /**
+     * @return projection of the related entity fields
+     */
+    public EntityProjection nested(String field)
+    {
+        if (isAll() || fields.contains(field))
+        {
+            return ALL;
+        }
+
+        String prefix = field + ".";
+        return new EntityProjection(Collections.unmodifiableSet(fields.stream()
+                                                                      .filter(f -> f.startsWith(prefix))
+                                                                      .map(f -> f.substring(prefix.length()))
+                                                                      .collect(Collectors.toSet())));
+    }
+
+    /**
+     * @return the {@code uuid} and the included ones of the provided property names
+     */
+    public String[] properties(String... properties)
+    {
+        return Stream.concat(Stream.of("uuid"), Arrays.stream(properties).filter(this::includes))
+                     .distinct()
+                     .toArray(String[]::new);
+    }
+
+    @Override
+    public boolean equals(Object obj)
+    {
+        if (this == obj)
+        {
+            return true;
+        }
+        if (!(obj instanceof EntityProjection))
+        {
+            return false;
+        }
+
+        return Objects.equals(fields, ((EntityProjection) obj).fields);
+    }
+
+    @Override
+    public int hashCode()
+    {
+        return Objects.hashCode(fields);
+    }
+
+    @Override
+    public String toString()
+    {
+        return isAll() ? "*" : String.valueOf(fields);
+    }
+
+}
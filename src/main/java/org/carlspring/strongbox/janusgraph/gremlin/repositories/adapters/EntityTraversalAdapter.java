@@ -11,7 +11,17 @@ public interface EntityTraversalAdapter<S, E extends DomainObject>
     
     EntityTraversal<S, E> fold();
 
+    /**
+     * @return traversal which fetches only the projection fields, other fields are left null
+     */
+    EntityTraversal<S, E> fold(EntityProjection projection);
+
     EntityTraversal<S, S> unfold(E entity);
+
+    /**
+     * @return the entity copy, which doesn't share any mutable state (like the nested entities) with the original
+     */
+    E copy(E entity);
     
     EntityTraversal<S, ? extends Element> cascade();
 }
\ No newline at end of file
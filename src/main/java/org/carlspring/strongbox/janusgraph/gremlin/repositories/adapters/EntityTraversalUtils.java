@@ -1,11 +1,13 @@
 package org.carlspring.strongbox.janusgraph.gremlin.repositories.adapters;
 
-import java.text.ParseException;
-import java.text.SimpleDateFormat;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
-import java.util.Optional;
-import java.util.stream.Collectors;
+import java.util.Map;
 
 import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
 import org.apache.tinkerpop.gremlin.structure.Property;
@@ -15,44 +17,114 @@ public class EntityTraversalUtils
 {
     public static final String DATE_FORMAT = "yyyy-MM-dd HH:mm:ss.SSSXXX";
 
+    /**
+     * Thread safe codec of the {@link #DATE_FORMAT} dates.
+     */
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern(DATE_FORMAT)
+                                                                             .withZone(ZoneId.systemDefault());
+
     public static <E> E extractObject(Class<E> target,
                                       Object value)
     {
-        return Optional.of(value)
-                       .filter(v -> !EntityTraversalDsl.NULL.equals(v))
-                       .map(target::cast)
-                       .orElse(null);
+        if (value == null || EntityTraversalDsl.NULL.equals(value))
+        {
+            return null;
+        }
+
+        return target.cast(value);
     }
 
     public static Date extractDate(Object value)
     {
-        return Optional.of(value)
-                       .filter(v -> !EntityTraversalDsl.NULL.equals(v))
-                       .map(String.class::cast)
-                       .map(EntityTraversalUtils::format)
-                       .orElse(null);
+        if (value == null || EntityTraversalDsl.NULL.equals(value))
+        {
+            return null;
+        }
+
+        return parseDate((String) value);
     }
 
-    protected static Date format(String t)
+    public static Date parseDate(String value)
     {
         try
         {
-            return new SimpleDateFormat(DATE_FORMAT).parse(t);
+            return Date.from(OffsetDateTime.parse(value, DATE_FORMATTER).toInstant());
         }
-        catch (ParseException e)
+        catch (DateTimeParseException e)
         {
-            throw new IllegalArgumentException();
+            throw new IllegalArgumentException(e);
         }
     }
 
+    public static String formatDate(Date value)
+    {
+        return DATE_FORMATTER.format(value.toInstant());
+    }
+
+    @SuppressWarnings("unchecked")
     public static <E> List<E> extractList(Class<E> target,
                                           Object value)
     {
-        return Optional.of(value)
-                       .filter(v -> !EntityTraversalDsl.NULL.equals(v))
-                       .map(v -> (List<Property<Object>>) v)
-                       .<List<E>>map(c -> c.stream().map(p -> p.value()).map(target::cast).collect(Collectors.toList()))
-                       .orElse(null);
+        if (value == null || EntityTraversalDsl.NULL.equals(value))
+        {
+            return null;
+        }
+
+        List<Property<Object>> properties = (List<Property<Object>>) value;
+        List<E> result = new ArrayList<>(properties.size());
+        for (Property<Object> property : properties)
+        {
+            result.add(target.cast(property.value()));
+        }
+
+        return result;
+    }
+
+    /**
+     * Extracts the single value from the {@code valueMap()} step result entry value.
+     */
+    public static <E> E extractValue(Class<E> target,
+                                     Object values)
+    {
+        if (values == null || ((List<?>) values).isEmpty())
+        {
+            return null;
+        }
+
+        return target.cast(((List<?>) values).get(0));
+    }
+
+    /**
+     * Extracts the values from the {@code valueMap()} step result entry value.
+     *
+     * @throws ClassCastException
+     *             if any of the values is not of the target type
+     */
+    public static <E> List<E> extractValues(Class<E> target,
+                                            Object values)
+    {
+        if (values == null)
+        {
+            return new ArrayList<>();
+        }
+
+        List<?> source = (List<?>) values;
+        List<E> result = new ArrayList<>(source.size());
+        for (Object value : source)
+        {
+            result.add(target.cast(value));
+        }
+
+        return result;
+    }
+
+    /**
+     * @return the {@code valueMap()} step result entries
+     */
+    @SuppressWarnings("unchecked")
+    public static Iterable<Map.Entry<String, Object>> valueMapEntries(Object valueMap)
+    {
+        return ((Map<String, Object>) valueMap).entrySet();
     }
 
     public static <E> Object castToObject(Traverser<E> t)
@@ -0,0 +1,266 @@
+package org.carlspring.strongbox.janusgraph.gremlin.repositories.adapters;
+
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Set of the related entities which are fetched page by page on first access. The ids of the entities are fetched
+ * upfront, so the {@link #size()} doesn't fetch anything, and each page is fetched by the next slice of ids.
+ * <p>
+ * Modifications don't fetch anything either, the set only records the added elements and the ids of the removed
+ * ones (see {@link #getAdded()} and {@link #getRemovedIds()}). The elements are the same only if they are the same
+ * instances, so the element which was not fetched by this set can't be one of the fetched elements.
+ * <p>
+ * The set is synchronized, the iterators should be used by one thread at a time.
+ *
+ * @param <E>
+ */
+public class LazyPagedSet<E> extends AbstractSet<E>
+{
+
+    private final List<?> ids;
+
+    private final int pageSize;
+
+    private final Function<List<?>, Map<?, E>> pageLoader;
+
+    private int fetchedIds;
+
+    private final List<E> fetched = new ArrayList<>();
+
+    private final Map<E, Object> fetchedElementIds = new IdentityHashMap<>();
+
+    private final Set<E> added = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    private final Set<Object> removedIds = new LinkedHashSet<>();
+
+    /**
+     * @param ids
+     *            ids of the elements
+     * @param pageSize
+     *            number of the elements fetched at once
+     * @param pageLoader
+     *            fetches the elements by ids and maps them by their ids, the elements which don't exist anymore are
+     *            skipped
+     */
+    public LazyPagedSet(List<?> ids,
+                        int pageSize,
+                        Function<List<?>, Map<?, E>> pageLoader)
+    {
+        this.ids = ids;
+        this.pageSize = pageSize;
+        this.pageLoader = pageLoader;
+    }
+
+    /**
+     * @return true if all the elements have been fetched
+     */
+    public synchronized boolean isLoaded()
+    {
+        return fetchedIds >= ids.size();
+    }
+
+    /**
+     * @return true if the set has been modified since it was fetched
+     */
+    public synchronized boolean isModified()
+    {
+        return !added.isEmpty() || !removedIds.isEmpty();
+    }
+
+    /**
+     * @return the elements which have been added since the set was fetched
+     */
+    public synchronized Set<E> getAdded()
+    {
+        Set<E> result = Collections.newSetFromMap(new IdentityHashMap<>());
+        result.addAll(added);
+
+        return result;
+    }
+
+    /**
+     * @return the ids of the elements which have been removed since the set was fetched
+     */
+    public synchronized Set<Object> getRemovedIds()
+    {
+        return new LinkedHashSet<>(removedIds);
+    }
+
+    /**
+     * @return new set of the same elements, which are fetched with the same page loader on first access
+     * @throws IllegalStateException
+     *             if the set has been modified
+     */
+    public synchronized LazyPagedSet<E> copy()
+    {
+        if (isModified())
+        {
+            throw new IllegalStateException("Modified set can't be copied lazily.");
+        }
+
+        return new LazyPagedSet<>(ids, pageSize, pageLoader);
+    }
+
+    /**
+     * @return number of the fetched elements if all of them have been fetched, or number of the ids otherwise
+     */
+    @Override
+    public synchronized int size()
+    {
+        if (!isLoaded())
+        {
+            return ids.size() - removedIds.size() + added.size();
+        }
+
+        int result = added.size();
+        for (E e : fetched)
+        {
+            if (!removedIds.contains(fetchedElementIds.get(e)))
+            {
+                result++;
+            }
+        }
+
+        return result;
+    }
+
+    @Override
+    public synchronized Iterator<E> iterator()
+    {
+        return new PagedIterator();
+    }
+
+    @Override
+    public synchronized boolean add(E e)
+    {
+        Object id = fetchedElementIds.get(e);
+        if (id != null)
+        {
+            return removedIds.remove(id);
+        }
+
+        return added.add(e);
+    }
+
+    @Override
+    public synchronized boolean remove(Object o)
+    {
+        Object id = fetchedElementIds.get(o);
+        if (id != null)
+        {
+            return removedIds.add(id);
+        }
+
+        return added.remove(o);
+    }
+
+    @Override
+    public synchronized void clear()
+    {
+        removedIds.addAll(ids);
+        added.clear();
+    }
+
+    private synchronized void fetchPage()
+    {
+        if (isLoaded())
+        {
+            return;
+        }
+
+        int to = Math.min(fetchedIds + pageSize, ids.size());
+        for (Map.Entry<?, E> element : pageLoader.apply(ids.subList(fetchedIds, to)).entrySet())
+        {
+            fetched.add(element.getValue());
+            fetchedElementIds.put(element.getValue(), element.getKey());
+        }
+        fetchedIds = to;
+    }
+
+    /**
+     * Iterates the fetched elements, fetching the pages as needed, and then the added elements.
+     */
+    private class PagedIterator implements Iterator<E>
+    {
+
+        private int index;
+
+        private Iterator<E> addedIterator;
+
+        private E next;
+
+        private E last;
+
+        @Override
+        public boolean hasNext()
+        {
+            synchronized (LazyPagedSet.this)
+            {
+                while (next == null && addedIterator == null)
+                {
+                    // Skipped and removed elements can make the page empty
+                    if (index >= fetched.size() && !isLoaded())
+                    {
+                        fetchPage();
+                    }
+                    else if (index >= fetched.size())
+                    {
+                        addedIterator = new ArrayList<>(added).iterator();
+                    }
+                    else if (!removedIds.contains(fetchedElementIds.get(fetched.get(index))))
+                    {
+                        next = fetched.get(index++);
+                    }
+                    else
+                    {
+                        index++;
+                    }
+                }
+                if (next == null && addedIterator.hasNext())
+                {
+                    next = addedIterator.next();
+                }
+
+                return next != null;
+            }
+        }
+
+        @Override
+        public E next()
+        {
+            if (!hasNext())
+            {
+                throw new NoSuchElementException();
+            }
+
+            last = next;
+            next = null;
+
+            return last;
+        }
+
+        @Override
+        public void remove()
+        {
+            if (last == null)
+            {
+                throw new IllegalStateException();
+            }
+
+            LazyPagedSet.this.remove(last);
+            last = null;
+        }
+
+    }
+
+}
@@ -2,6 +2,8 @@ package org.carlspring.strongbox.janusgraph.gremlin.repositories.adapters;
 
 import static org.apache.tinkerpop.gremlin.structure.VertexProperty.Cardinality.single;
 import static org.carlspring.strongbox.janusgraph.gremlin.repositories.adapters.EntityTraversalUtils.extractObject;
+import static org.carlspring.strongbox.janusgraph.gremlin.repositories.adapters.EntityTraversalUtils.extractValue;
+import static org.carlspring.strongbox.janusgraph.gremlin.repositories.adapters.EntityTraversalUtils.valueMapEntries;
 
 import java.util.Map;
 
@@ -39,27 +41,54 @@ public class RepositoryArtifactIdGroupAdapter extends VertexEntityTraversalAdapt
     }
 
     @Override
-    public EntityTraversal<Vertex, RepositoryArtifactIdGroupEntity> fold()
+    protected EntityTraversal<Vertex, RepositoryArtifactIdGroupEntity> foldTraversal(EntityProjection projection)
     {
-        return __.<Vertex, Object>project("uuid", "storageId", "repositoryId", "artifactGroup")
-                 .by(__.enrichPropertyValue("uuid"))
-                 .by(__.enrichPropertyValue("storageId"))
-                 .by(__.enrichPropertyValue("repositoryId"))
+        String[] properties = projection.properties("storageId", "repositoryId");
+        if (!projection.includes("artifactGroup"))
+        {
+            return __.<Vertex, Object>project("properties")
+                     .by(__.valueMap(properties))
+                     .map(this::map);
+        }
+
+        return __.<Vertex, Object>project("properties", "artifactGroup")
+                 .by(__.valueMap(properties))
                  .by(__.outE(Edges.REPOSITORYARTIFACTIDGROUP_ARTIFACTGROUP)
                        .mapToObject(__.inV()
                                       .hasLabel(ArtifactGroup.LABEL)
-                                      .map(artifactGroupAdapter.fold())
+                                      .map(artifactGroupAdapter.fold(projection.nested("artifactGroup")))
                                       .map(EntityTraversalUtils::castToObject)))
                  .map(this::map);
     }
 
     private RepositoryArtifactIdGroupEntity map(Traverser<Map<String, Object>> t)
     {
-        RepositoryArtifactIdGroupEntity result = new RepositoryArtifactIdGroupEntity(
-                extractObject(ArtifactGroupEntity.class, t.get().get("artifactGroup")));
-        result.setUuid(extractObject(String.class, t.get().get("uuid")));
-        result.setStorageId(extractObject(String.class, t.get().get("storageId")));
-        result.setRepositoryId(extractObject(String.class, t.get().get("repositoryId")));
+        ArtifactGroupEntity artifactGroup = extractObject(ArtifactGroupEntity.class, t.get().get("artifactGroup"));
+        if (artifactGroup == null)
+        {
+            // Artifact group was not fetched, so its artifacts will not be saved
+            artifactGroup = new ArtifactGroupEntity();
+            artifactGroup.setArtifacts(null);
+        }
+
+        RepositoryArtifactIdGroupEntity result = new RepositoryArtifactIdGroupEntity(artifactGroup);
+        for (Map.Entry<String, Object> property : valueMapEntries(t.get().get("properties")))
+        {
+            switch (property.getKey())
+            {
+            case "uuid":
+                result.setUuid(extractValue(String.class, property.getValue()));
+                break;
+            case "storageId":
+                result.setStorageId(extractValue(String.class, property.getValue()));
+                break;
+            case "repositoryId":
+                result.setRepositoryId(extractValue(String.class, property.getValue()));
+                break;
+            default:
+                break;
+            }
+        }
 
         return result;
     }
@@ -75,6 +104,19 @@ public class RepositoryArtifactIdGroupAdapter extends VertexEntityTraversalAdapt
                  .map(unfoldRepositoryArtifactIdGroup(entity));
     }
 
+    @Override
+    public RepositoryArtifactIdGroupEntity copy(RepositoryArtifactIdGroupEntity entity)
+    {
+        ArtifactGroupEntity artifactGroup = artifactGroupAdapter.copy(entity.getArtifactGroup());
+
+        RepositoryArtifactIdGroupEntity result = new RepositoryArtifactIdGroupEntity(artifactGroup);
+        result.setUuid(entity.getUuid());
+        result.setStorageId(entity.getStorageId());
+        result.setRepositoryId(entity.getRepositoryId());
+
+        return result;
+    }
+
     private Traversal<Vertex, Edge> updateArtifactGroup(ArtifactGroupEntity artifactGroup)
     {
         return __.<Vertex>outE(Edges.REPOSITORYARTIFACTIDGROUP_ARTIFACTGROUP)
@@ -116,14 +158,12 @@ public class RepositoryArtifactIdGroupAdapter extends VertexEntityTraversalAdapt
     }
 
     @Override
-    public EntityTraversal<Vertex, ? extends Element> cascade()
+    protected EntityTraversal<Vertex, Vertex> cascadeTraversal()
     {
-        return __.<Vertex>aggregate("x")
-                 .outE(Edges.REPOSITORYARTIFACTIDGROUP_ARTIFACTGROUP)
-                 .inV()
-                 .map(artifactGroupAdapter.cascade())
-                 .select("x")
-                 .unfold();
+        return __.<Vertex, Vertex>union(__.<Vertex>identity(),
+                                        __.<Vertex>outE(Edges.REPOSITORYARTIFACTIDGROUP_ARTIFACTGROUP)
+                                          .inV()
+                                          .flatMap(artifactGroupAdapter.cascade()));
     }
 
 }
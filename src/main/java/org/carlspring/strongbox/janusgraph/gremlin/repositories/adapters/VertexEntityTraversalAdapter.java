@@ -1,9 +1,19 @@
 package org.carlspring.strongbox.janusgraph.gremlin.repositories.adapters;
 
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
 import org.carlspring.strongbox.janusgraph.domain.DomainObject;
+import org.carlspring.strongbox.janusgraph.gremlin.dsl.EntityTraversal;
+import org.springframework.beans.factory.annotation.Value;
 
 /**
+ * Builds the {@link #fold()} (per {@link EntityProjection}) and {@link #cascade()} traversals once as templates, and
+ * then provides the template copies to avoid traversal steps construction for each repository call. The number of the
+ * fold templates is limited, the traversals of the projections beyond the limit are built for each call.
+ *
  * @author sbespalov
  *
  * @param <E>
@@ -11,4 +21,61 @@ import org.carlspring.strongbox.janusgraph.domain.DomainObject;
 public abstract class VertexEntityTraversalAdapter<E extends DomainObject> implements EntityTraversalAdapter<Vertex, E>
 {
 
+    private final ConcurrentMap<EntityProjection, EntityTraversal<Vertex, E>> foldTemplates = new ConcurrentHashMap<>();
+
+    @Value("${strongbox.graph.gremlin.repositories.maxFoldTemplates:100}")
+    private int maxFoldTemplates = 100;
+
+    private volatile EntityTraversal<Vertex, Vertex> cascadeTemplate;
+
+    @Override
+    public EntityTraversal<Vertex, E> fold()
+    {
+        return fold(EntityProjection.all());
+    }
+
+    @Override
+    public EntityTraversal<Vertex, E> fold(EntityProjection projection)
+    {
+        EntityTraversal<Vertex, E> foldTemplate = foldTemplates.get(projection);
+        if (foldTemplate != null)
+        {
+            return copy(foldTemplate);
+        }
+
+        foldTemplate = foldTraversal(projection);
+        if (foldTemplates.size() < maxFoldTemplates)
+        {
+            foldTemplates.putIfAbsent(projection, foldTemplate);
+
+            return copy(foldTemplate);
+        }
+
+        return foldTemplate;
+    }
+
+    @Override
+    public EntityTraversal<Vertex, Vertex> cascade()
+    {
+        if (cascadeTemplate == null)
+        {
+            cascadeTemplate = cascadeTraversal();
+        }
+
+        return copy(cascadeTemplate);
+    }
+
+    protected abstract EntityTraversal<Vertex, E> foldTraversal(EntityProjection projection);
+
+    /**
+     * @return traversal which emits the vertex itself and all the vertices to be deleted along with it
+     */
+    protected abstract EntityTraversal<Vertex, Vertex> cascadeTraversal();
+
+    @SuppressWarnings("unchecked")
+    private static <S, E2> EntityTraversal<S, E2> copy(Traversal<S, E2> template)
+    {
+        return (EntityTraversal<S, E2>) template.asAdmin().clone();
+    }
+
 }
@@ -0,0 +1,220 @@
+package org.carlspring.strongbox.janusgraph.gremlin.repositories.cache;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+import javax.inject.Inject;
+
+import org.apache.tinkerpop.gremlin.structure.Direction;
+import org.apache.tinkerpop.gremlin.structure.Element;
+import org.apache.tinkerpop.gremlin.structure.Property;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.carlspring.strongbox.janusgraph.domain.DomainObject;
+import org.carlspring.strongbox.janusgraph.domain.Edges;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.MetricRegistry;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+/**
+ * Bounded read-through cache of the entities fetched by id, shared between the Gremlin repositories.
+ * <p>
+ * The cache holds the entity copies, and each hit returns new copy, so the callers are free to modify the entities they
+ * get. The entities which were invalidated while being loaded are not cached, so the load which raced with the
+ * commit can't put the stale entity back.
+ *
+ * @see EntityCacheInvalidator
+ */
+@Component
+public class EntityCache
+{
+
+    private static final Logger logger = LoggerFactory.getLogger(EntityCache.class);
+
+    /**
+     * The relations from the embedding entity to the embedded one, like {@code Artifact} embeds
+     * {@code ArtifactCoordinates}, so the embedding entities should be invalidated along with the embedded ones.
+     */
+    public static final String[] EMBEDDED_RELATIONS = new String[] { Edges.ARTIFACT_ARTIFACTCOORDINATES,
+                                                                     Edges.ARTIFACTGROUP_ARTIFACT,
+                                                                     Edges.REPOSITORYARTIFACTIDGROUP_ARTIFACTGROUP };
+
+    private final boolean enabled;
+
+    private final Cache<String, DomainObject> cache;
+
+    private final Set<String> labels = ConcurrentHashMap.newKeySet();
+
+    private final AtomicLong invalidations = new AtomicLong();
+
+    @Inject
+    public EntityCache(@Value("${strongbox.graph.gremlin.repositories.cache.enabled:false}") boolean enabled,
+                       @Value("${strongbox.graph.gremlin.repositories.cache.maximumSize:10000}") long maximumSize,
+                       @Value("${strongbox.graph.gremlin.repositories.cache.expireAfterWrite:300}") long expireAfterWrite,
+                       MetricRegistry metricRegistry)
+    {
+        this.enabled = enabled;
+        this.cache = CacheBuilder.newBuilder()
+                                 .maximumSize(maximumSize)
+                                 .expireAfterWrite(expireAfterWrite, TimeUnit.SECONDS)
+                                 .recordStats()
+                                 .build();
+
+        if (!enabled)
+        {
+            return;
+        }
+
+        metricRegistry.register(MetricRegistry.name(EntityCache.class, "hits"),
+                                (Gauge<Long>) () -> cache.stats().hitCount());
+        metricRegistry.register(MetricRegistry.name(EntityCache.class, "misses"),
+                                (Gauge<Long>) () -> cache.stats().missCount());
+        metricRegistry.register(MetricRegistry.name(EntityCache.class, "hitRate"),
+                                (Gauge<Double>) () -> cache.stats().hitRate());
+        metricRegistry.register(MetricRegistry.name(EntityCache.class, "evictions"),
+                                (Gauge<Long>) () -> cache.stats().evictionCount());
+        metricRegistry.register(MetricRegistry.name(EntityCache.class, "size"),
+                                (Gauge<Long>) cache::size);
+    }
+
+    public boolean isEnabled()
+    {
+        return enabled;
+    }
+
+    /**
+     * @param loader
+     *            fetches the committed entity state, the entities loaded from the uncommitted changes should not be
+     *            cached
+     * @param copy
+     *            makes the entity copy, which doesn't share any mutable state with the original
+     */
+    @SuppressWarnings("unchecked")
+    public <E extends DomainObject> Optional<E> get(String label,
+                                                    String uuid,
+                                                    Supplier<Optional<E>> loader,
+                                                    UnaryOperator<E> copy)
+    {
+        if (!enabled || uuid == null)
+        {
+            return loader.get();
+        }
+
+        String key = key(label, uuid);
+        E entity = (E) cache.getIfPresent(key);
+        if (entity != null)
+        {
+            return Optional.of(copy.apply(entity));
+        }
+
+        long invalidationsBefore = invalidations.get();
+        Optional<E> result = loader.get();
+        result.ifPresent(e -> {
+            labels.add(label);
+            cache.put(key, copy.apply(e));
+            if (invalidations.get() != invalidationsBefore)
+            {
+                // The entity could be changed while being loaded
+                cache.invalidate(key);
+            }
+        });
+
+        return result;
+    }
+
+    public void invalidate(Element element)
+    {
+        Property<Object> uuid = element.property("uuid");
+        if (!uuid.isPresent())
+        {
+            return;
+        }
+
+        invalidate(String.valueOf(uuid.value()));
+    }
+
+    /**
+     * Invalidates the entities with provided uuid for all labels, because the inherited entities (like
+     * {@code RepositoryArtifactIdGroup} and {@code ArtifactGroup}) have the same uuid.
+     */
+    public void invalidate(String uuid)
+    {
+        if (!enabled || uuid == null)
+        {
+            return;
+        }
+
+        logger.debug(String.format("Invalidate [%s]", uuid));
+        invalidations.incrementAndGet();
+        for (String label : labels)
+        {
+            cache.invalidate(key(label, uuid));
+        }
+    }
+
+    /**
+     * @return the uuids of the element entity, the entities embedded into it (which are saved along with it), and all
+     *         the entities which embed them (see {@link #EMBEDDED_RELATIONS})
+     */
+    public static Set<String> relatedUuids(Element element)
+    {
+        Set<String> result = new HashSet<>();
+        if (!(element instanceof Vertex))
+        {
+            element.<Object>property("uuid").ifPresent(uuid -> result.add(String.valueOf(uuid)));
+
+            return result;
+        }
+
+        Set<Object> embedded = new HashSet<>();
+        Set<Object> visited = new HashSet<>();
+        Deque<Vertex> queue = new ArrayDeque<>();
+        queue.add((Vertex) element);
+        while (!queue.isEmpty())
+        {
+            Vertex vertex = queue.poll();
+            if (!embedded.add(vertex.id()))
+            {
+                continue;
+            }
+
+            vertex.vertices(Direction.OUT, EMBEDDED_RELATIONS).forEachRemaining(queue::add);
+
+            Deque<Vertex> embedding = new ArrayDeque<>();
+            embedding.add(vertex);
+            while (!embedding.isEmpty())
+            {
+                Vertex embeddingVertex = embedding.poll();
+                if (!visited.add(embeddingVertex.id()))
+                {
+                    continue;
+                }
+
+                embeddingVertex.<Object>property("uuid").ifPresent(uuid -> result.add(String.valueOf(uuid)));
+                embeddingVertex.vertices(Direction.IN, EMBEDDED_RELATIONS).forEachRemaining(embedding::add);
+            }
+        }
+
+        return result;
+    }
+
+    private String key(String label,
+                       String uuid)
+    {
+        return label + ":" + uuid;
+    }
+
+}
@@ -0,0 +1,204 @@
+package org.carlspring.strongbox.janusgraph.gremlin.repositories.cache;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.inject.Inject;
+
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
+import org.janusgraph.core.JanusGraph;
+import org.janusgraph.core.JanusGraphVertexProperty;
+import org.janusgraph.diskstorage.log.Log;
+import org.janusgraph.diskstorage.log.Message;
+import org.janusgraph.diskstorage.log.MessageReader;
+import org.janusgraph.diskstorage.log.ReadMarker;
+import org.janusgraph.graphdb.database.StandardJanusGraph;
+import org.janusgraph.graphdb.database.log.LogTxStatus;
+import org.janusgraph.graphdb.database.log.TransactionLogHeader;
+import org.janusgraph.graphdb.internal.InternalRelation;
+import org.janusgraph.graphdb.log.ModificationDeserializer;
+import org.janusgraph.graphdb.transaction.StandardJanusGraphTx;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+/**
+ * Consumes the JanusGraph transaction log (enabled with {@code tx.log-tx}) and invalidates the {@link EntityCache}
+ * entries of the modified vertices, so the changes made by other nodes (as well as local ones) are propagated to the
+ * cache. The entities which embed the modified vertices (like {@code Artifact} embeds {@code ArtifactCoordinates}) are
+ * invalidated too.
+ * <p>
+ * The entries are invalidated once the transaction is logged as {@link LogTxStatus#PRECOMMIT}, and then once again when
+ * it's logged as committed, so the entries which were loaded between the precommit and the commit are not left stale.
+ */
+@Component
+public class EntityCacheInvalidator implements MessageReader
+{
+
+    private static final Logger logger = LoggerFactory.getLogger(EntityCacheInvalidator.class);
+
+    private final StandardJanusGraph graph;
+
+    private final EntityCache entityCache;
+
+    /**
+     * The uuids invalidated on precommit by transaction id, to be invalidated once again on commit.
+     */
+    private final Cache<Long, Set<String>> precommitted = CacheBuilder.newBuilder()
+                                                                      .maximumSize(10000)
+                                                                      .expireAfterWrite(10, TimeUnit.MINUTES)
+                                                                      .build();
+
+    private Log txLog;
+
+    @Inject
+    public EntityCacheInvalidator(JanusGraph janusGraph,
+                                  EntityCache entityCache)
+    {
+        this.graph = (StandardJanusGraph) janusGraph;
+        this.entityCache = entityCache;
+    }
+
+    @PostConstruct
+    public void register()
+    {
+        if (!entityCache.isEnabled())
+        {
+            return;
+        }
+
+        txLog = graph.getBackend().getSystemTxLog();
+        txLog.registerReader(ReadMarker.fromNow(), this);
+    }
+
+    @PreDestroy
+    public void unregister()
+    {
+        if (txLog == null)
+        {
+            return;
+        }
+
+        txLog.unregisterReader(this);
+    }
+
+    @Override
+    public void read(Message message)
+    {
+        TransactionLogHeader.Entry txEntry;
+        try
+        {
+            txEntry = TransactionLogHeader.parse(message.getContent(),
+                                                 graph.getDataSerializer(),
+                                                 graph.getConfiguration().getTimestampProvider());
+        }
+        catch (Exception e)
+        {
+            logger.error("Failed to parse transaction log entry.", e);
+            return;
+        }
+
+        long txId = txEntry.getHeader().getId();
+        LogTxStatus status = txEntry.getStatus();
+        if (status == LogTxStatus.PRECOMMIT)
+        {
+            if (!txEntry.hasContent())
+            {
+                return;
+            }
+
+            Set<String> uuids = modifiedUuids(txEntry);
+            precommitted.put(txId, uuids);
+            uuids.forEach(entityCache::invalidate);
+
+            return;
+        }
+
+        Set<String> uuids = precommitted.getIfPresent(txId);
+        if (uuids == null)
+        {
+            return;
+        }
+        precommitted.invalidate(txId);
+
+        if (status.isPrimarySuccess())
+        {
+            uuids.forEach(entityCache::invalidate);
+        }
+    }
+
+    private Set<String> modifiedUuids(TransactionLogHeader.Entry txEntry)
+    {
+        Set<String> uuids = new HashSet<>();
+        Set<Long> vertexIds = new HashSet<>();
+
+        StandardJanusGraphTx tx = (StandardJanusGraphTx) graph.buildTransaction().readOnly().start();
+        try
+        {
+            for (TransactionLogHeader.Modification modification : txEntry.getContentAsModifications(graph.getDataSerializer()))
+            {
+                vertexIds.add(modification.outVertexId);
+
+                // Removed vertices can't be fetched, so their uuids are taken from the log
+                try
+                {
+                    InternalRelation relation = ModificationDeserializer.parseRelation(modification, tx);
+                    if (relation.isProperty()
+                            && "uuid".equals(((JanusGraphVertexProperty<?>) relation).propertyKey().name()))
+                    {
+                        uuids.add(String.valueOf(((JanusGraphVertexProperty<?>) relation).value()));
+                    }
+                }
+                catch (Exception e)
+                {
+                    logger.warn(String.format("Failed to parse transaction [%s] modification of [%s].",
+                                              txEntry.getHeader().getId(), modification.outVertexId),
+                                e);
+                }
+            }
+
+            try
+            {
+                if (!vertexIds.isEmpty())
+                {
+                    tx.traversal()
+                      .V(vertexIds.toArray())
+                      .emit()
+                      .repeat(__.in(EntityCache.EMBEDDED_RELATIONS))
+                      .values("uuid")
+                      .forEachRemaining(uuid -> uuids.add(String.valueOf(uuid)));
+                }
+            }
+            catch (Exception e)
+            {
+                logger.error(String.format("Failed to fetch transaction [%s] embedding entities.",
+                                           txEntry.getHeader().getId()),
+                             e);
+            }
+        }
+        catch (Exception e)
+        {
+            logger.error(String.format("Failed to process transaction [%s] log entry.", txEntry.getHeader().getId()),
+                         e);
+        }
+        finally
+        {
+            tx.rollback();
+        }
+
+        return uuids;
+    }
+
+    @Override
+    public void updateState()
+    {
+        // Nothing to update, the log is always read from now
+    }
+
+}
@@ -0,0 +1,18 @@
+package org.carlspring.strongbox.janusgraph.gremlin.tx;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ComponentScan
+public class GremlinTransactionConfig
+{
+
+    @Bean
+    public GremlinTransactionManager gremlinTransactionManager(GremlinUnitOfWorkManager unitOfWorkManager)
+    {
+        return new GremlinTransactionManager(unitOfWorkManager);
+    }
+
+}
@@ -0,0 +1,94 @@
+package org.carlspring.strongbox.janusgraph.gremlin.tx;
+
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+import org.springframework.transaction.support.SmartTransactionObject;
+
+/**
+ * Runs the {@code @Transactional("gremlinTransactionManager")} methods within {@link GremlinUnitOfWork}.
+ */
+public class GremlinTransactionManager extends AbstractPlatformTransactionManager
+{
+
+    private final GremlinUnitOfWorkManager unitOfWorkManager;
+
+    public GremlinTransactionManager(GremlinUnitOfWorkManager unitOfWorkManager)
+    {
+        this.unitOfWorkManager = unitOfWorkManager;
+    }
+
+    @Override
+    protected Object doGetTransaction()
+    {
+        return new GremlinTransactionObject(unitOfWorkManager.current().orElse(null));
+    }
+
+    @Override
+    protected boolean isExistingTransaction(Object transaction)
+    {
+        return ((GremlinTransactionObject) transaction).unitOfWork != null;
+    }
+
+    @Override
+    protected void doBegin(Object transaction,
+                           TransactionDefinition definition)
+    {
+        GremlinUnitOfWork.Builder builder = unitOfWorkManager.builder();
+        if (definition.isReadOnly())
+        {
+            builder = builder.readOnly();
+        }
+
+        ((GremlinTransactionObject) transaction).unitOfWork = builder.begin();
+    }
+
+    @Override
+    protected void doCommit(DefaultTransactionStatus status)
+    {
+        ((GremlinTransactionObject) status.getTransaction()).unitOfWork.commit();
+    }
+
+    @Override
+    protected void doRollback(DefaultTransactionStatus status)
+    {
+        ((GremlinTransactionObject) status.getTransaction()).unitOfWork.rollback();
+    }
+
+    @Override
+    protected void doSetRollbackOnly(DefaultTransactionStatus status)
+    {
+        ((GremlinTransactionObject) status.getTransaction()).unitOfWork.setRollbackOnly();
+    }
+
+    @Override
+    protected void doCleanupAfterCompletion(Object transaction)
+    {
+        ((GremlinTransactionObject) transaction).unitOfWork.close();
+    }
+
+    private static class GremlinTransactionObject implements SmartTransactionObject
+    {
+
+        private GremlinUnitOfWork unitOfWork;
+
+        private GremlinTransactionObject(GremlinUnitOfWork unitOfWork)
+        {
+            this.unitOfWork = unitOfWork;
+        }
+
+        @Override
+        public boolean isRollbackOnly()
+        {
+            return unitOfWork != null && unitOfWork.isRollbackOnly();
+        }
+
+        @Override
+        public void flush()
+        {
+            // Changes are flushed on commit
+        }
+
+    }
+
+}
@@ -0,0 +1,261 @@
+package org.carlspring.strongbox.janusgraph.gremlin.tx;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.carlspring.strongbox.janusgraph.gremlin.dsl.EntityTraversalSource;
+import org.janusgraph.core.JanusGraph;
+import org.janusgraph.core.JanusGraphTransaction;
+import org.janusgraph.core.TransactionBuilder;
+import org.janusgraph.graphdb.transaction.StandardJanusGraphTx;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Explicit {@link JanusGraphTransaction} bound to the current thread, so all the Gremlin repository operations executed
+ * by this thread run within it until the unit of work closed.
+ * <p>
+ * The transaction is committed with {@link #commit()}, or automatically each time the repositories report
+ * {@link Builder#commitEvery(int)} mutations. Closing the unit of work rolls back the uncommitted changes.
+ *
+ * <pre>
+ * try (GremlinUnitOfWork unitOfWork = unitOfWorkManager.builder().batchLoading().commitEvery(1000).begin())
+ * {
+ *     artifactRepository.saveAll(artifacts);
+ *     unitOfWork.commit();
+ * }
+ * </pre>
+ *
+ * @see GremlinUnitOfWorkManager
+ */
+public class GremlinUnitOfWork implements AutoCloseable
+{
+
+    private static final Logger logger = LoggerFactory.getLogger(GremlinUnitOfWork.class);
+
+    private final Builder builder;
+
+    private JanusGraphTransaction tx;
+
+    private int mutations;
+
+    private boolean rollbackOnly;
+
+    private final List<Runnable> afterCommit = new ArrayList<>();
+
+    private GremlinUnitOfWork(Builder builder)
+    {
+        this.builder = builder;
+    }
+
+    public EntityTraversalSource traversal()
+    {
+        return transaction().traversal(EntityTraversalSource.class);
+    }
+
+    public JanusGraphTransaction transaction()
+    {
+        if (tx == null || !tx.isOpen())
+        {
+            tx = builder.newTransaction();
+            mutations = 0;
+        }
+
+        return tx;
+    }
+
+    /**
+     * Registers the mutations made within this unit of work, and commits if there are enough of them.
+     */
+    public void mutated(int count)
+    {
+        mutations += count;
+        if (builder.commitEvery <= 0 || mutations < builder.commitEvery)
+        {
+            return;
+        }
+
+        logger.debug(String.format("Commit [%s] mutations.", mutations));
+        commit();
+    }
+
+    /**
+     * @return true if the current transaction has uncommitted changes
+     */
+    public boolean hasPendingMutations()
+    {
+        return tx != null && tx.isOpen() && ((StandardJanusGraphTx) tx).hasModifications();
+    }
+
+    /**
+     * Registers the callback to be executed once the current transaction is committed, the callback is discarded if
+     * the transaction is rolled back.
+     */
+    public void afterCommit(Runnable callback)
+    {
+        afterCommit.add(callback);
+    }
+
+    public void commit()
+    {
+        if (tx == null || !tx.isOpen())
+        {
+            return;
+        }
+        if (rollbackOnly)
+        {
+            throw new IllegalStateException("Unit of work is marked as rollback only.");
+        }
+
+        List<Runnable> callbacks = new ArrayList<>(afterCommit);
+        try
+        {
+            tx.commit();
+        }
+        finally
+        {
+            tx = null;
+            mutations = 0;
+            afterCommit.clear();
+        }
+
+        GremlinUnitOfWorkManager.run(callbacks);
+    }
+
+    public void rollback()
+    {
+        if (tx == null || !tx.isOpen())
+        {
+            return;
+        }
+
+        try
+        {
+            tx.rollback();
+        }
+        finally
+        {
+            tx = null;
+            mutations = 0;
+            afterCommit.clear();
+        }
+    }
+
+    public boolean isRollbackOnly()
+    {
+        return rollbackOnly;
+    }
+
+    public void setRollbackOnly()
+    {
+        this.rollbackOnly = true;
+    }
+
+    @Override
+    public void close()
+    {
+        try
+        {
+            rollback();
+        }
+        finally
+        {
+            builder.unitOfWorkManager.unbind(this);
+        }
+    }
+
+    public static class Builder
+    {
+
+        private final JanusGraph janusGraph;
+
+        private final GremlinUnitOfWorkManager unitOfWorkManager;
+
+        private boolean readOnly;
+
+        private boolean batchLoading;
+
+        private Boolean consistencyChecks;
+
+        private Integer vertexCacheSize;
+
+        private int commitEvery;
+
+        Builder(JanusGraph janusGraph,
+                GremlinUnitOfWorkManager unitOfWorkManager)
+        {
+            this.janusGraph = janusGraph;
+            this.unitOfWorkManager = unitOfWorkManager;
+        }
+
+        public Builder readOnly()
+        {
+            this.readOnly = true;
+            return this;
+        }
+
+        /**
+         * Enables JanusGraph batch loading for the bulk ingestion. Note that batch loading transactions are not
+         * written to the transaction log.
+         */
+        public Builder batchLoading()
+        {
+            this.batchLoading = true;
+            return this;
+        }
+
+        public Builder consistencyChecks(boolean consistencyChecks)
+        {
+            this.consistencyChecks = consistencyChecks;
+            return this;
+        }
+
+        public Builder vertexCacheSize(int vertexCacheSize)
+        {
+            this.vertexCacheSize = vertexCacheSize;
+            return this;
+        }
+
+        /**
+         * Commits the transaction each time the specified number of mutations reached, zero means no auto-commit.
+         */
+        public Builder commitEvery(int commitEvery)
+        {
+            this.commitEvery = commitEvery;
+            return this;
+        }
+
+        public GremlinUnitOfWork begin()
+        {
+            GremlinUnitOfWork unitOfWork = new GremlinUnitOfWork(this);
+            unitOfWorkManager.bind(unitOfWork);
+
+            return unitOfWork;
+        }
+
+        private JanusGraphTransaction newTransaction()
+        {
+            TransactionBuilder transactionBuilder = janusGraph.buildTransaction();
+            if (readOnly)
+            {
+                transactionBuilder = transactionBuilder.readOnly();
+            }
+            if (batchLoading)
+            {
+                transactionBuilder = transactionBuilder.enableBatchLoading();
+            }
+            if (consistencyChecks != null)
+            {
+                transactionBuilder = transactionBuilder.consistencyChecks(consistencyChecks);
+            }
+            if (vertexCacheSize != null)
+            {
+                transactionBuilder = transactionBuilder.vertexCacheSize(vertexCacheSize);
+            }
+
+            return transactionBuilder.start();
+        }
+
+    }
+
+}
@@ -0,0 +1,179 @@
+package org.carlspring.strongbox.janusgraph.gremlin.tx;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+import javax.inject.Inject;
+
+import org.apache.tinkerpop.gremlin.structure.Transaction;
+import org.carlspring.strongbox.janusgraph.gremlin.dsl.EntityTraversalSource;
+import org.janusgraph.core.JanusGraph;
+import org.janusgraph.graphdb.database.StandardJanusGraph;
+import org.janusgraph.graphdb.transaction.StandardJanusGraphTx;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Binds the {@link GremlinUnitOfWork} to the current thread.
+ */
+@Component
+public class GremlinUnitOfWorkManager
+{
+
+    private static final Logger logger = LoggerFactory.getLogger(GremlinUnitOfWorkManager.class);
+
+    private final ThreadLocal<GremlinUnitOfWork> currentUnitOfWork = new ThreadLocal<>();
+
+    /**
+     * The after commit callbacks of the JanusGraph thread-bound transaction.
+     */
+    private final ThreadLocal<List<Runnable>> afterCommit = ThreadLocal.withInitial(ArrayList::new);
+
+    /**
+     * The JanusGraph thread-bound transaction listeners are thread-local and never removed, so the listener is
+     * registered once per thread.
+     */
+    private final ThreadLocal<Boolean> transactionListenerRegistered = ThreadLocal.withInitial(() -> false);
+
+    @Inject
+    private JanusGraph janusGraph;
+
+    public GremlinUnitOfWork.Builder builder()
+    {
+        return new GremlinUnitOfWork.Builder(janusGraph, this);
+    }
+
+    public Optional<GremlinUnitOfWork> current()
+    {
+        return Optional.ofNullable(currentUnitOfWork.get());
+    }
+
+    /**
+     * @return traversal source of the current unit of work, or of the JanusGraph thread-bound transaction if there
+     *         is no unit of work
+     */
+    public EntityTraversalSource traversal()
+    {
+        return current().map(GremlinUnitOfWork::traversal)
+                        .orElseGet(() -> janusGraph.traversal(EntityTraversalSource.class));
+    }
+
+    /**
+     * @return true if the transaction of the current unit of work (or the JanusGraph thread-bound transaction if there
+     *         is no unit of work) has uncommitted changes
+     */
+    public boolean hasPendingMutations()
+    {
+        Optional<GremlinUnitOfWork> unitOfWork = current();
+        if (unitOfWork.isPresent())
+        {
+            return unitOfWork.get().hasPendingMutations();
+        }
+        if (!janusGraph.tx().isOpen())
+        {
+            return false;
+        }
+
+        return ((StandardJanusGraphTx) ((StandardJanusGraph) janusGraph).getCurrentThreadTx()).hasModifications();
+    }
+
+    /**
+     * Registers the callback to be executed once the transaction of the current unit of work (or the JanusGraph
+     * thread-bound transaction if there is no unit of work) is committed. The callback is discarded if the transaction
+     * is rolled back.
+     */
+    public void afterCommit(Runnable callback)
+    {
+        Optional<GremlinUnitOfWork> unitOfWork = current();
+        if (unitOfWork.isPresent())
+        {
+            unitOfWork.get().afterCommit(callback);
+            return;
+        }
+
+        if (!transactionListenerRegistered.get())
+        {
+            janusGraph.tx().addTransactionListener(this::onTransactionCompleted);
+            transactionListenerRegistered.set(true);
+        }
+        afterCommit.get().add(callback);
+    }
+
+    private void onTransactionCompleted(Transaction.Status status)
+    {
+        List<Runnable> callbacks = afterCommit.get();
+        afterCommit.remove();
+
+        if (status == Transaction.Status.COMMIT)
+        {
+            run(callbacks);
+        }
+    }
+
+    /**
+     * Runs the after commit callbacks, the callback failures are logged only as the transaction is committed already.
+     */
+    static void run(List<Runnable> callbacks)
+    {
+        for (Runnable callback : callbacks)
+        {
+            try
+            {
+                callback.run();
+            }
+            catch (Exception e)
+            {
+                logger.error("Failed to execute after commit callback.", e);
+            }
+        }
+    }
+
+    /**
+     * Executes the work within new unit of work and commits it, or joins the current unit of work if there is one.
+     */
+    public <T> T execute(Supplier<T> work)
+    {
+        return execute(builder(), work);
+    }
+
+    public <T> T execute(GremlinUnitOfWork.Builder builder,
+                         Supplier<T> work)
+    {
+        if (current().isPresent())
+        {
+            return work.get();
+        }
+
+        try (GremlinUnitOfWork unitOfWork = builder.begin())
+        {
+            T result = work.get();
+            unitOfWork.commit();
+
+            return result;
+        }
+    }
+
+    void bind(GremlinUnitOfWork unitOfWork)
+    {
+        if (currentUnitOfWork.get() != null)
+        {
+            throw new IllegalStateException("There is unit of work bound to the current thread already.");
+        }
+
+        currentUnitOfWork.set(unitOfWork);
+    }
+
+    void unbind(GremlinUnitOfWork unitOfWork)
+    {
+        if (currentUnitOfWork.get() != unitOfWork)
+        {
+            return;
+        }
+
+        currentUnitOfWork.remove();
+    }
+
+}
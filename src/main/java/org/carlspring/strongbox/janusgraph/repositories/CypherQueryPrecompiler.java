@@ -0,0 +1,257 @@
+package org.carlspring.strongbox.janusgraph.repositories;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Predicate;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import javax.inject.Inject;
+
+import org.janusgraph.core.JanusGraph;
+import org.janusgraph.core.schema.JanusGraphManagement;
+import org.opencypher.gremlin.neo4j.ogm.CypherTranslationCache;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.DefaultParameterNameDiscoverer;
+import org.springframework.core.ParameterNameDiscoverer;
+import org.springframework.data.neo4j.annotation.Query;
+import org.springframework.data.repository.core.RepositoryInformation;
+import org.springframework.data.repository.query.Param;
+import org.springframework.data.repository.support.Repositories;
+
+/**
+ * Translates the {@link Query} statements of the OGM repositories into Gremlin bytecode on startup, so they are not
+ * translated on the first call and the untranslatable statements (or the statements with the labels which are not
+ * defined within the schema, or with the parameters which are not the method parameters) fail the application startup.
+ */
+public class CypherQueryPrecompiler
+{
+
+    private static final Logger logger = LoggerFactory.getLogger(CypherQueryPrecompiler.class);
+
+    /**
+     * All the labels of the node pattern, like {@code (n:A:B)}.
+     */
+    private static final Pattern VERTEX_LABEL_PATTERN = Pattern.compile("\\(\\s*\\w*\\s*((?::\\s*`?\\w+`?\\s*)+)");
+
+    /**
+     * All the types of the relationship pattern, like {@code [r:A|B]}.
+     */
+    private static final Pattern EDGE_LABEL_PATTERN = Pattern.compile("\\[\\s*\\w*\\s*:\\s*(`?\\w+`?(?:\\s*\\|\\s*:?\\s*`?\\w+`?)*)");
+
+    private static final Pattern LABEL_PATTERN = Pattern.compile("`?(\\w+)`?");
+
+    private static final Pattern PARAMETER_PATTERN = Pattern.compile("\\$(\\w+)|\\{\\s*(\\w+)\\s*\\}");
+
+    private final ParameterNameDiscoverer parameterNameDiscoverer = new DefaultParameterNameDiscoverer();
+
+    @Inject
+    private ApplicationContext applicationContext;
+
+    @Inject
+    private JanusGraph janusGraph;
+
+    @Inject
+    private CypherTranslationCache translationCache;
+
+    @Value("${strongbox.graph.ogm.precompileQueries:true}")
+    private boolean enabled;
+
+    @EventListener(ContextRefreshedEvent.class)
+    public void onContextRefreshed(ContextRefreshedEvent event)
+    {
+        if (!enabled || event.getApplicationContext() != applicationContext)
+        {
+            return;
+        }
+
+        List<Method> queryMethods = new ArrayList<>();
+        Repositories repositories = new Repositories(applicationContext);
+        for (Class<?> domainType : repositories)
+        {
+            Optional<RepositoryInformation> repositoryInformation = repositories.getRepositoryInformationFor(domainType);
+            if (!repositoryInformation.isPresent())
+            {
+                continue;
+            }
+
+            for (Method method : repositoryInformation.get().getQueryMethods())
+            {
+                if (method.isAnnotationPresent(Query.class))
+                {
+                    queryMethods.add(method);
+                }
+            }
+        }
+
+        JanusGraphManagement jgm = janusGraph.openManagement();
+        try
+        {
+            for (Method method : queryMethods)
+            {
+                precompile(jgm, method);
+            }
+        }
+        finally
+        {
+            jgm.rollback();
+        }
+
+        logger.info(String.format("Precompiled [%s] repository queries.", queryMethods.size()));
+    }
+
+    private void precompile(JanusGraphManagement jgm,
+                            Method method)
+    {
+        String statement = method.getAnnotation(Query.class).value();
+        String methodName = String.format("%s.%s", method.getDeclaringClass().getSimpleName(), method.getName());
+
+        precompile(jgm, methodName, statement, sampleParameters(method));
+    }
+
+    /**
+     * @param parameters
+     *            the sample parameters, with {@code null} values for the parameters of unsupported types, or null if
+     *            the parameter names are unknown
+     * @throws IllegalStateException
+     *             if the statement is not valid
+     */
+    void precompile(JanusGraphManagement jgm,
+                    String methodName,
+                    String statement,
+                    Map<String, Object> parameters)
+    {
+        validateLabels(methodName, statement, VERTEX_LABEL_PATTERN, jgm::containsVertexLabel);
+        validateLabels(methodName, statement, EDGE_LABEL_PATTERN, jgm::containsEdgeLabel);
+
+        if (parameters != null)
+        {
+            validateParameters(methodName, statement, parameters);
+        }
+        if (parameters == null || parameters.containsValue(null))
+        {
+            logger.warn(String.format("Skip [%s] query precompilation, the parameter types are not supported.",
+                                      methodName));
+
+            return;
+        }
+
+        try
+        {
+            translationCache.precompile(statement, parameters);
+        }
+        catch (Exception e)
+        {
+            throw new IllegalStateException(String.format("Failed to translate [%s] query [%s].", methodName,
+                                                          statement),
+                    e);
+        }
+
+        logger.debug(String.format("Precompiled [%s] query [%s].", methodName, statement));
+    }
+
+    private void validateLabels(String methodName,
+                                String statement,
+                                Pattern labelPattern,
+                                Predicate<String> schemaContainsLabel)
+    {
+        Matcher matcher = labelPattern.matcher(statement);
+        while (matcher.find())
+        {
+            Matcher labelMatcher = LABEL_PATTERN.matcher(matcher.group(1));
+            while (labelMatcher.find())
+            {
+                String label = labelMatcher.group(1);
+                if (!schemaContainsLabel.test(label))
+                {
+                    throw new IllegalStateException(String.format("Label [%s] of [%s] query is not defined in the schema.",
+                                                                  label,
+                                                                  methodName));
+                }
+            }
+        }
+    }
+
+    private void validateParameters(String methodName,
+                                    String statement,
+                                    Map<String, Object> parameters)
+    {
+        Matcher matcher = PARAMETER_PATTERN.matcher(statement);
+        while (matcher.find())
+        {
+            String parameter = matcher.group(1) != null ? matcher.group(1) : matcher.group(2);
+            if (!parameters.containsKey(parameter))
+            {
+                throw new IllegalStateException(String.format("Parameter [%s] of [%s] query is not the method parameter.",
+                                                              parameter,
+                                                              methodName));
+            }
+        }
+    }
+
+    /**
+     * @return the sample parameter values, of the same types as the values bound by OGM ({@code null} values for the
+     *         parameter types which are not supported), or null if any of the parameter names is unknown
+     */
+    private Map<String, Object> sampleParameters(Method method)
+    {
+        String[] parameterNames = parameterNameDiscoverer.getParameterNames(method);
+        Parameter[] methodParameters = method.getParameters();
+
+        Map<String, Object> result = new HashMap<>();
+        for (int i = 0; i < methodParameters.length; i++)
+        {
+            Param param = methodParameters[i].getAnnotation(Param.class);
+            String name = param != null ? param.value() : parameterNames != null ? parameterNames[i] : null;
+            if (name == null)
+            {
+                return null;
+            }
+
+            result.put(name, sampleValue(methodParameters[i].getType()));
+        }
+
+        return result;
+    }
+
+    private Object sampleValue(Class<?> type)
+    {
+        if (String.class.equals(type) || type.isEnum())
+        {
+            return "";
+        }
+        else if (Long.class.equals(type) || Integer.class.equals(type) || Short.class.equals(type)
+                || long.class.equals(type) || int.class.equals(type) || short.class.equals(type))
+        {
+            // the integral values are bound as long
+            return 0L;
+        }
+        else if (Double.class.equals(type) || Float.class.equals(type) || double.class.equals(type)
+                || float.class.equals(type))
+        {
+            return 0d;
+        }
+        else if (Boolean.class.equals(type) || boolean.class.equals(type))
+        {
+            return false;
+        }
+        else if (Collection.class.isAssignableFrom(type))
+        {
+            return new ArrayList<>();
+        }
+
+        return null;
+    }
+
+}
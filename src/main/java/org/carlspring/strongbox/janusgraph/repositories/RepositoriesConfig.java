@@ -1,25 +1,61 @@
 package org.carlspring.strongbox.janusgraph.repositories;
 
+import org.carlspring.strongbox.janusgraph.schema.ArtifactCreatedMigration;
+import org.carlspring.strongbox.janusgraph.schema.StrongboxSchema;
 import org.janusgraph.core.JanusGraph;
 import org.neo4j.ogm.session.SessionFactory;
+import org.opencypher.gremlin.neo4j.driver.EdgeLabelCache;
+import org.opencypher.gremlin.neo4j.ogm.CypherTranslationCache;
 import org.opencypher.gremlin.neo4j.ogm.JanusGraphDriver;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
 import org.springframework.data.neo4j.repository.config.EnableNeo4jRepositories;
 import org.springframework.data.neo4j.transaction.Neo4jTransactionManager;
 
+import com.codahale.metrics.MetricRegistry;
+
 @Configuration
 @EnableNeo4jRepositories
 public class RepositoriesConfig
 {
 
     @Bean
-    public SessionFactory sessionFactory(JanusGraph graph)
+    public SessionFactory sessionFactory(JanusGraph graph,
+                                         CypherTranslationCache cypherTranslationCache,
+                                         EdgeLabelCache edgeLabelCache,
+                                         ArtifactCreatedMigration artifactCreatedMigration)
+    {
+        return new SessionFactory(new JanusGraphDriver(graph, cypherTranslationCache, edgeLabelCache,
+                artifactCreatedMigration::writeCreatedAt),
+                "org.carlspring.strongbox.janusgraph.domain");
+    }
+
+    @Bean
+    public CypherTranslationCache cypherTranslationCache(@Value("${strongbox.graph.ogm.translationCacheSize:1000}") long maximumSize,
+                                                         MetricRegistry metricRegistry)
+    {
+        return new CypherTranslationCache(maximumSize, metricRegistry);
+    }
+
+    /**
+     * Loaded by {@link StrongboxSchema} once the schema created.
+     */
+    @Bean
+    public EdgeLabelCache edgeLabelCache(JanusGraph graph)
+    {
+        return new EdgeLabelCache(graph);
+    }
+
+    @Bean
+    public CypherQueryPrecompiler cypherQueryPrecompiler()
     {
-        return new SessionFactory(new JanusGraphDriver(graph), "org.carlspring.strongbox.janusgraph.domain");
+        return new CypherQueryPrecompiler();
     }
 
     @Bean
+    @Primary
     public Neo4jTransactionManager transactionManager(SessionFactory sessionFactory)
         throws Exception
     {
@@ -0,0 +1,196 @@
+package org.carlspring.strongbox.janusgraph.schema;
+
+import static org.apache.tinkerpop.gremlin.structure.VertexProperty.Cardinality.single;
+
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+import javax.inject.Inject;
+
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.carlspring.strongbox.janusgraph.domain.Artifact;
+import org.carlspring.strongbox.janusgraph.gremlin.repositories.adapters.EntityTraversalUtils;
+import org.carlspring.strongbox.janusgraph.gremlin.tx.GremlinUnitOfWork;
+import org.carlspring.strongbox.janusgraph.gremlin.tx.GremlinUnitOfWorkManager;
+import org.janusgraph.core.JanusGraph;
+import org.janusgraph.core.JanusGraphTransaction;
+import org.janusgraph.core.JanusGraphVertex;
+import org.janusgraph.core.JanusGraphVertexProperty;
+import org.janusgraph.graphdb.internal.InternalRelation;
+import org.janusgraph.graphdb.transaction.StandardJanusGraphTx;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Migration of the legacy {@code Artifact.created} formatted dates into the native {@code createdAt} property. The
+ * artifacts which are not migrated yet still expose the legacy value, but can't be found with the {@code createdAt}
+ * range queries.
+ * <p>
+ * The migration scans all the artifacts, so it's disabled by default and should be enabled once for the databases
+ * with the legacy data. It runs in background once the application started, and it's recorded with the
+ * {@link #MIGRATED} graph variable, so it doesn't run again. The dates written by the OGM repositories are converted on
+ * commit (see {@link #writeCreatedAt(JanusGraphTransaction)}), so no new legacy data appears.
+ */
+@Component
+public class ArtifactCreatedMigration
+{
+
+    private static final Logger logger = LoggerFactory.getLogger(ArtifactCreatedMigration.class);
+
+    public static final String MIGRATED = "migration.Artifact.createdAt";
+
+    @Inject
+    private JanusGraph janusGraph;
+
+    @Inject
+    private GremlinUnitOfWorkManager unitOfWorkManager;
+
+    @Inject
+    private StrongboxSchema strongboxSchema;
+
+    @Value("${strongbox.graph.schema.migration.enabled:false}")
+    private boolean enabled;
+
+    @Value("${strongbox.graph.schema.migration.batchSize:1000}")
+    private int batchSize;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady()
+    {
+        if (!enabled || isMigrated())
+        {
+            return;
+        }
+
+        Thread thread = new Thread(this::migrate, ArtifactCreatedMigration.class.getSimpleName());
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    public boolean isMigrated()
+    {
+        return janusGraph.variables().get(MIGRATED).isPresent();
+    }
+
+    /**
+     * Scans the artifacts within read only transaction and migrates them within {@link GremlinUnitOfWork} committed
+     * every {@code batchSize} artifacts. Then the {@link StrongboxSchema#ARTIFACT_CREATED_AT_INDEX} is rebuilt, so the
+     * migrated artifacts are indexed along with their other index keys.
+     *
+     * @return the number of migrated artifacts, or {@code -1} if the migration failed
+     */
+    public synchronized long migrate()
+    {
+        if (isMigrated())
+        {
+            logger.info("Artifact.created dates migrated already.");
+
+            return 0;
+        }
+
+        logger.info("Migrate Artifact.created dates.");
+
+        long count = 0;
+        JanusGraphTransaction scanTx = janusGraph.buildTransaction().readOnly().start();
+        try (GremlinUnitOfWork unitOfWork = unitOfWorkManager.builder().commitEvery(batchSize).begin())
+        {
+            Iterator<Vertex> vertices = scanTx.traversal()
+                                              .V()
+                                              .hasLabel(Artifact.LABEL)
+                                              .has("created")
+                                              .hasNot("createdAt");
+            while (vertices.hasNext())
+            {
+                if (migrate(unitOfWork, vertices.next()) && ++count % batchSize == 0)
+                {
+                    logger.info(String.format("Migrated [%s] artifacts.", count));
+                }
+            }
+            unitOfWork.commit();
+        }
+        catch (Exception e)
+        {
+            logger.error(String.format("Failed to migrate Artifact.created dates, [%s] artifacts migrated.", count),
+                         e);
+            return -1;
+        }
+        finally
+        {
+            scanTx.rollback();
+        }
+
+        strongboxSchema.reindex(janusGraph, StrongboxSchema.ARTIFACT_CREATED_AT_INDEX);
+
+        janusGraph.variables().set(MIGRATED, System.currentTimeMillis());
+
+        logger.info(String.format("Artifact.created dates migrated, [%s] artifacts total.", count));
+
+        return count;
+    }
+
+    private boolean migrate(GremlinUnitOfWork unitOfWork,
+                            Vertex vertex)
+    {
+        Date created;
+        try
+        {
+            created = EntityTraversalUtils.parseDate(vertex.value("created"));
+        }
+        catch (IllegalArgumentException e)
+        {
+            logger.warn(String.format("Skip [%s]-[%s] with invalid created date.", vertex.label(), vertex.id()), e);
+            return false;
+        }
+
+        unitOfWork.traversal()
+                  .V(vertex.id())
+                  .property(single, "createdAt", created)
+                  .iterate();
+        unitOfWork.mutated(1);
+
+        return true;
+    }
+
+    /**
+     * Writes the native {@code createdAt} dates of the artifacts, which legacy {@code created} dates were written
+     * within the transaction. The OGM repositories can only write the formatted dates, so it's called right before
+     * their transactions commit.
+     */
+    public void writeCreatedAt(JanusGraphTransaction tx)
+    {
+        if (!(tx instanceof StandardJanusGraphTx))
+        {
+            return;
+        }
+
+        Map<JanusGraphVertex, Object> created = new HashMap<>();
+        for (InternalRelation relation : ((StandardJanusGraphTx) tx).getAddedRelations(r -> r.isProperty()
+                && "created".equals(r.getType().name())))
+        {
+            JanusGraphVertexProperty<?> property = (JanusGraphVertexProperty<?>) relation;
+            if (Artifact.LABEL.equals(property.element().label()))
+            {
+                created.put(property.element(), property.value());
+            }
+        }
+
+        for (Map.Entry<JanusGraphVertex, Object> entry : created.entrySet())
+        {
+            try
+            {
+                entry.getKey().property(single, "createdAt", EntityTraversalUtils.parseDate((String) entry.getValue()));
+            }
+            catch (IllegalArgumentException e)
+            {
+                logger.warn(String.format("Skip [%s] with invalid created date.", entry.getKey().id()), e);
+            }
+        }
+    }
+
+}
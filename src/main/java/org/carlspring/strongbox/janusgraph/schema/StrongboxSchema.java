@@ -1,5 +1,6 @@
 package org.carlspring.strongbox.janusgraph.schema;
 
+import java.util.Date;
 import java.util.HashSet;
 import java.util.Optional;
 import java.util.Set;
@@ -24,9 +25,11 @@ import org.janusgraph.core.schema.EdgeLabelMaker;
 import org.janusgraph.core.schema.JanusGraphIndex;
 import org.janusgraph.core.schema.JanusGraphManagement;
 import org.janusgraph.core.schema.JanusGraphSchemaType;
+import org.janusgraph.core.schema.Mapping;
 import org.janusgraph.core.schema.PropertyKeyMaker;
 import org.janusgraph.core.schema.SchemaAction;
 import org.janusgraph.graphdb.database.management.ManagementSystem;
+import org.opencypher.gremlin.neo4j.driver.EdgeLabelCache;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
@@ -37,8 +40,30 @@ public class StrongboxSchema
 
     private static final Logger logger = LoggerFactory.getLogger(StrongboxSchema.class);
 
+    /**
+     * The {@code index.search} backend of the mixed indexes, see {@code JanusGraphConfig}.
+     */
+    public static final String SEARCH_INDEX_BACKEND = "search";
+
+    /**
+     * The {@link #SEARCH_INDEX_BACKEND} index of the repository artifacts creation date.
+     */
+    public static final String ARTIFACT_CREATED_AT_INDEX = Artifact.LABEL + ".createdAt";
+
+    /**
+     * @return the {@link #SEARCH_INDEX_BACKEND} index of the label vertices {@code uuid}, which answers the range
+     *         queries ordered by {@code uuid} (see {@code EntityTraversalDsl#findAfter(String, String, int)}) without
+     *         the label filtering
+     */
+    public static String uuidSearchIndex(String label)
+    {
+        return label + ".uuidSearch";
+    }
+
     @Inject
-    public void createSchema(JanusGraph jg) throws InterruptedException
+    public void createSchema(JanusGraph jg,
+                             EdgeLabelCache edgeLabelCache)
+        throws InterruptedException
     {
         JanusGraphManagement jgm = jg.openManagement();
         try
@@ -86,6 +111,13 @@ public class StrongboxSchema
             jgm.rollback();
             throw new RuntimeException("Failed to enable indexes.", e);
         }
+
+        for (String janusGraphIndex : indexes)
+        {
+            reindex(jg, janusGraphIndex);
+        }
+
+        edgeLabelCache.load();
     }
 
     protected void enableIndexes(JanusGraphManagement jgm,
@@ -100,6 +132,28 @@ public class StrongboxSchema
         }
     }
 
+    /**
+     * Indexes the existing vertices: the data written before the index was introduced, or the data written in a way
+     * which bypasses the index (see {@link ArtifactCreatedMigration}).
+     */
+    protected void reindex(JanusGraph jg,
+                           String janusGraphIndex)
+    {
+        JanusGraphManagement jgm = jg.openManagement();
+        try
+        {
+            logger.info(String.format("Reindex [%s].", janusGraphIndex));
+            jgm.updateIndex(jgm.getGraphIndex(janusGraphIndex), SchemaAction.REINDEX).get();
+            jgm.commit();
+        }
+        catch (Exception e)
+        {
+            logger.error(String.format("Failed to reindex [%s].", janusGraphIndex), e);
+            jgm.rollback();
+            throw new RuntimeException(String.format("Failed to reindex [%s].", janusGraphIndex), e);
+        }
+    }
+
     protected Set<String> createIndexes(JanusGraph jg, JanusGraphManagement jgm) throws InterruptedException
     {
         Set<String> result = new HashSet<>();
@@ -131,6 +185,23 @@ public class StrongboxSchema
         vertexLabel = jgm.getVertexLabel(RepositoryArtifactIdGroup.LABEL);
         buildIndexIfNecessary(jgm, RepositoryArtifactIdGroup.LABEL + ".uuid", Vertex.class, propertyKey,
                               vertexLabel, true).ifPresent(result::add);
+
+        // Range queries over the repository artifacts creation date
+        vertexLabel = jgm.getVertexLabel(Artifact.LABEL);
+        buildMixedIndexIfNecessary(jgm, ARTIFACT_CREATED_AT_INDEX, Vertex.class, vertexLabel,
+                                   jgm.getPropertyKey("storageId"),
+                                   jgm.getPropertyKey("repositoryId"),
+                                   jgm.getPropertyKey("createdAt")).ifPresent(result::add);
+
+        // Keyset paging over the entities ordered by uuid
+        for (String label : new String[] { Artifact.LABEL,
+                                           ArtifactCoordinates.LABEL,
+                                           ArtifactGroup.LABEL,
+                                           RepositoryArtifactIdGroup.LABEL })
+        {
+            buildMixedIndexIfNecessary(jgm, uuidSearchIndex(label), Vertex.class, jgm.getVertexLabel(label),
+                                       jgm.getPropertyKey("uuid")).ifPresent(result::add);
+        }
         
 //        EdgeLabel artifactEntryToArtifactCoordinates = jg.getEdgeLabel(ArtifactEntry.class.getSimpleName() + "_"
 //                + ArtifactCoordinates.class.getSimpleName());
@@ -147,7 +218,9 @@ public class StrongboxSchema
         makePropertyKeyIfDoesNotExist(jgm, "storageId", String.class);
         makePropertyKeyIfDoesNotExist(jgm, "repositoryId", String.class);
         makePropertyKeyIfDoesNotExist(jgm, "sizeInBytes", Long.class);
+        // legacy formatted date, still written and read by the OGM repositories
         makePropertyKeyIfDoesNotExist(jgm, "created", String.class);
+        makePropertyKeyIfDoesNotExist(jgm, "createdAt", Date.class);
         makePropertyKeyIfDoesNotExist(jgm, "tags", String.class, Cardinality.SET);
 
         makePropertyKeyIfDoesNotExist(jgm, "path", String.class);
@@ -208,6 +281,41 @@ public class StrongboxSchema
         return Optional.of(janusGraphIndex.name());
     }
 
+    /**
+     * Builds the {@link #SEARCH_INDEX_BACKEND} index, the {@code String} keys are indexed as is to allow exact match.
+     */
+    private Optional<String> buildMixedIndexIfNecessary(final JanusGraphManagement jgm,
+                                                        final String name,
+                                                        final Class<? extends Element> elementType,
+                                                        final JanusGraphSchemaType schemaType,
+                                                        final PropertyKey... propertyKeys)
+    {
+        if (jgm.containsGraphIndex(name))
+        {
+            return Optional.empty();
+        }
+
+        JanusGraphManagement.IndexBuilder indexBuilder = jgm.buildIndex(name, elementType);
+        for (PropertyKey propertyKey : propertyKeys)
+        {
+            if (String.class.equals(propertyKey.dataType()))
+            {
+                indexBuilder = indexBuilder.addKey(propertyKey, Mapping.STRING.asParameter());
+            }
+            else
+            {
+                indexBuilder = indexBuilder.addKey(propertyKey);
+            }
+        }
+        if (schemaType != null)
+        {
+            indexBuilder = indexBuilder.indexOnly(schemaType);
+        }
+
+        JanusGraphIndex janusGraphIndex = indexBuilder.buildMixedIndex(SEARCH_INDEX_BACKEND);
+        return Optional.of(janusGraphIndex.name());
+    }
+
     private void makeEdgeLabelIfDoesNotExist(final JanusGraphManagement jgm,
                                              final String name,
                                              final Multiplicity multiplicity)
@@ -0,0 +1,86 @@
+package org.opencypher.gremlin.client;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.apache.tinkerpop.gremlin.driver.Result;
+import org.apache.tinkerpop.gremlin.jsr223.JavaTranslator;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.opencypher.gremlin.neo4j.ogm.CypherTranslationCache;
+import org.opencypher.gremlin.neo4j.ogm.CypherTranslationCache.CypherTranslation;
+
+/**
+ * In-memory {@link CypherGremlinClient} (same as {@link CypherGremlinClient#inMemory(GraphTraversalSource)}), which
+ * takes the statement translations from the {@link CypherTranslationCache} instead of translating them on each submit,
+ * and only binds the parameter values into the cached bytecode.
+ * <p>
+ * The read statement results are pulled from the traversal lazily, as the result set consumed. The write statements
+ * are executed right away, so their writes are neither skipped nor reordered with the next statements if the result
+ * set is not consumed completely.
+ */
+public class CachingCypherGremlinClient implements CypherGremlinClient
+{
+
+    private final GraphTraversalSource gts;
+
+    private final CypherTranslationCache translationCache;
+
+    public CachingCypherGremlinClient(GraphTraversalSource gts,
+                                      CypherTranslationCache translationCache)
+    {
+        this.gts = gts;
+        this.translationCache = translationCache;
+    }
+
+    @Override
+    public CompletableFuture<CypherResultSet> submitAsync(String cypher,
+                                                          Map<String, ?> parameters)
+    {
+        CypherTranslation translation;
+        try
+        {
+            translation = translationCache.get(cypher, parameters);
+        }
+        catch (Exception e)
+        {
+            return failed(e);
+        }
+
+        Traversal.Admin<?, ?> traversal = JavaTranslator.of(gts).translate(translation.bind(parameters));
+        ReturnNormalizer returnNormalizer = ReturnNormalizer.create(translation.getAst().getReturnTypes());
+        Stream<Result> results = traversal.toStream()
+                                          .map(returnNormalizer::normalize)
+                                          .map(Result::new);
+        if (!translation.isWrite())
+        {
+            return CompletableFuture.completedFuture(new CypherResultSet(results.iterator()));
+        }
+
+        try
+        {
+            return CompletableFuture.completedFuture(new CypherResultSet(results.collect(Collectors.toList())
+                                                                                .iterator()));
+        }
+        catch (Exception e)
+        {
+            return failed(e);
+        }
+    }
+
+    private static CompletableFuture<CypherResultSet> failed(Exception e)
+    {
+        CompletableFuture<CypherResultSet> result = new CompletableFuture<>();
+        result.completeExceptionally(e);
+
+        return result;
+    }
+
+    @Override
+    public void close()
+    {
+    }
+
+}
@@ -8,11 +8,11 @@ import static org.opencypher.gremlin.translation.ReturnProperties.RELATIONSHIP_T
 import static org.opencypher.gremlin.translation.ReturnProperties.TYPE;
 
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Map.Entry;
 
 import org.janusgraph.core.JanusGraphTransaction;
-import org.janusgraph.core.JanusGraphVertex;
 import org.janusgraph.graphdb.relations.RelationIdentifier;
 import org.neo4j.driver.v1.Record;
 import org.neo4j.driver.v1.Session;
@@ -21,7 +21,8 @@ import org.neo4j.driver.v1.StatementResult;
 import org.neo4j.driver.v1.StatementRunner;
 import org.neo4j.driver.v1.Value;
 import org.neo4j.driver.v1.types.TypeSystem;
-import org.opencypher.gremlin.client.CypherGremlinClient;
+import org.opencypher.gremlin.client.CachingCypherGremlinClient;
+import org.opencypher.gremlin.neo4j.ogm.CypherTranslationCache;
 import org.opencypher.gremlin.neo4j.ogm.transaction.GremlinTransaction;
 
 public class CypherGremlinStatementRunner implements StatementRunner
@@ -29,12 +30,17 @@ public class CypherGremlinStatementRunner implements StatementRunner
 
     private final Session session;
     private final GremlinTransaction gremlinTransaction;
+    private final EdgeLabelCache edgeLabelCache;
 
-    public CypherGremlinStatementRunner(GremlinTransaction gremlinTransaction)
+    public CypherGremlinStatementRunner(GremlinTransaction gremlinTransaction,
+                                        CypherTranslationCache translationCache,
+                                        EdgeLabelCache edgeLabelCache)
     {
         this.gremlinTransaction = gremlinTransaction;
+        this.edgeLabelCache = edgeLabelCache;
         this.session = new GremlinServerSession(null,
-                CypherGremlinClient.inMemory(gremlinTransaction.getNativeTransaction().traversal()),
+                new CachingCypherGremlinClient(gremlinTransaction.getNativeTransaction().traversal(),
+                        translationCache),
                 new JanusGraphValueConverter(false));
     }
 
@@ -82,42 +88,61 @@ public class CypherGremlinStatementRunner implements StatementRunner
         @Override
         Record toRecord(Map<String, Object> map)
         {
-            map.entrySet().forEach(this::normalizeValue);
+            return super.toRecord(normalizeMap(map));
+        }
+
+        /**
+         * @return the map with the normalized values, or the same map if there is nothing to normalize, the map
+         *         provided is never modified
+         */
+        private Map<String, Object> normalizeMap(Map<String, Object> map)
+        {
+            Map<String, Object> result = null;
+            for (Entry<String, Object> e : map.entrySet())
+            {
+                Object value = e.getValue();
+                Object normalizedValue = normalizeValue(e.getKey(), value);
+                if (result == null && normalizedValue != value)
+                {
+                    result = new LinkedHashMap<>(map);
+                }
+                if (result != null)
+                {
+                    result.put(e.getKey(), normalizedValue);
+                }
+            }
 
-            return super.toRecord(map);
+            return result == null ? map : result;
         }
 
-        private void normalizeValue(Entry<String, Object> e)
+        private Object normalizeValue(String key,
+                                      Object value)
         {
-            Object value = e.getValue();
             if (value instanceof Map)
             {
-                Map<String, Object> nodeMap = (Map<String, Object>) value;
-                nodeMap.entrySet().forEach(this::normalizeValue);
+                return normalizeMap((Map<String, Object>) value);
             }
-            else if (e.getValue() instanceof RelationIdentifier)
+            else if (!(value instanceof RelationIdentifier))
             {
-                JanusGraphTransaction tx = (JanusGraphTransaction) gremlinTransaction.getNativeTransaction();
-                RelationIdentifier relationIdentifier = (RelationIdentifier) e.getValue();
-                if (ID.equals(e.getKey()))
-                {
-                    e.setValue(relationIdentifier.getRelationId());
-
-                    return;
-                }
+                return value;
+            }
 
-                Map<String, Object> expectedValue = new HashMap<>();
-                expectedValue.put(TYPE, RELATIONSHIP_TYPE);
-                expectedValue.put(ID, relationIdentifier.getRelationId());
-                expectedValue.put(OUTV, relationIdentifier.getOutVertexId());
-                expectedValue.put(INV, relationIdentifier.getInVertexId());
+            RelationIdentifier relationIdentifier = (RelationIdentifier) value;
+            if (ID.equals(key))
+            {
+                return relationIdentifier.getRelationId();
+            }
 
-                JanusGraphVertex typeVertex = tx.getVertex(relationIdentifier.getTypeId());
-                expectedValue.put(LABEL, typeVertex.label());
+            JanusGraphTransaction tx = (JanusGraphTransaction) gremlinTransaction.getNativeTransaction();
 
-                e.setValue(expectedValue);
-            }
+            Map<String, Object> expectedValue = new HashMap<>();
+            expectedValue.put(TYPE, RELATIONSHIP_TYPE);
+            expectedValue.put(ID, relationIdentifier.getRelationId());
+            expectedValue.put(OUTV, relationIdentifier.getOutVertexId());
+            expectedValue.put(INV, relationIdentifier.getInVertexId());
+            expectedValue.put(LABEL, edgeLabelCache.get(tx, relationIdentifier.getTypeId()));
 
+            return expectedValue;
         }
 
     }
@@ -0,0 +1,93 @@
+package org.opencypher.gremlin.neo4j.driver;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.janusgraph.core.EdgeLabel;
+import org.janusgraph.core.JanusGraph;
+import org.janusgraph.core.JanusGraphTransaction;
+import org.janusgraph.core.JanusGraphVertex;
+import org.janusgraph.core.RelationType;
+import org.janusgraph.core.schema.JanusGraphManagement;
+
+import com.google.common.collect.ImmutableMap;
+
+/**
+ * Cache of the graph edge labels by their type ids, used to resolve the relationship types of the
+ * {@code RelationIdentifier}s without reading the edge label schema vertex for each relation. The type ids are only
+ * unique within the graph, so there is one cache per graph.
+ * <p>
+ * The cache is an immutable map, which is populated from the schema and replaced with a copy on each miss (like the
+ * edge labels created after the schema load).
+ */
+public class EdgeLabelCache
+{
+
+    private final JanusGraph graph;
+
+    private volatile Map<Long, String> labels = ImmutableMap.of();
+
+    public EdgeLabelCache(JanusGraph graph)
+    {
+        this.graph = graph;
+    }
+
+    /**
+     * Loads all the edge labels from the graph schema, the labels cached before are discarded.
+     */
+    public synchronized void load()
+    {
+        Map<Long, String> result = new HashMap<>();
+
+        JanusGraphManagement jgm = graph.openManagement();
+        try
+        {
+            for (EdgeLabel edgeLabel : jgm.getRelationTypes(EdgeLabel.class))
+            {
+                result.put(edgeLabel.longId(), edgeLabel.name());
+            }
+        }
+        finally
+        {
+            jgm.rollback();
+        }
+
+        labels = ImmutableMap.copyOf(result);
+    }
+
+    /**
+     * @return the edge label for the type id, the label resolved within the transaction provided if it's not cached
+     */
+    public String get(JanusGraphTransaction tx,
+                      long typeId)
+    {
+        String label = labels.get(typeId);
+        if (label != null)
+        {
+            return label;
+        }
+
+        label = resolve(tx, typeId);
+        synchronized (this)
+        {
+            if (!labels.containsKey(typeId))
+            {
+                labels = ImmutableMap.<Long, String>builder()
+                                     .putAll(labels)
+                                     .put(typeId, label)
+                                     .build();
+            }
+        }
+
+        return label;
+    }
+
+    private static String resolve(JanusGraphTransaction tx,
+                                  long typeId)
+    {
+        JanusGraphVertex typeVertex = tx.getVertex(typeId);
+
+        return typeVertex instanceof RelationType ? ((RelationType) typeVertex).name() : typeVertex.label();
+    }
+
+}
@@ -6,10 +6,7 @@ import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
-import org.apache.commons.lang3.tuple.Pair;
 import org.carlspring.strongbox.janusgraph.domain.DomainEntity;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -27,69 +24,8 @@ public class CypherQueryUtils
 
     private static final Logger logger = LoggerFactory.getLogger(CypherQueryUtils.class);
 
-    public static String inlineParameters(String cypherStatement,
-                                          Map<String, Object> parameterMap)
-    {
-        String placeholderFormat;
-        Map<String, Object> params;
-        Collection<Map<String, Object>> rows = (Collection<Map<String, Object>>) parameterMap.get("rows");
-        if (rows == null || rows.size() == 0)
-        {
-            // regular case
-            placeholderFormat = "$%s";
-            params = parameterMap;
-        }
-        else
-        {
-            // the case with `UNWIND {rows} as row`
-            placeholderFormat = "row.%s";
-            params = rows.iterator().next();
-        }
-
-        List<Pair<String, Object>> props = params.entrySet()
-                                                 .stream()
-                                                 .flatMap(CypherQueryUtils::flatten)
-                                                 .collect(Collectors.toList());
-
-        for (Pair<String, Object> p : props)
-        {
-            cypherStatement = cypherStatement.replace(String.format(placeholderFormat, p.getKey()),
-                                                      inlinedValue(p.getValue()));
-        }
-
-        return cypherStatement;
-    }
-
-    private static String inlinedValue(Object value)
-    {
-        if (value instanceof Number)
-        {
-            return value.toString();
-        }
-
-        if (value == null)
-        {
-            throw new IllegalArgumentException("Null values not supported.");
-        }
-
-        return "'" + value.toString() + "'";
-    }
-
-    private static Stream<Pair<String, Object>> flatten(Map.Entry<String, Object> root)
-    {
-        if (root.getValue() instanceof Map<?, ?>)
-        {
-            return ((Map<String, Object>) root.getValue()).entrySet()
-                                                          .stream()
-                                                          .map(e -> Pair.of(root.getKey() + "." + e.getKey(),
-                                                                            e.getValue()))
-                                                          .flatMap(CypherQueryUtils::flatten);
-        }
-        return Stream.of(Pair.of(root.getKey(), root.getValue()));
-    }
-
     public static String normalizeMergeByIdWithParams(String cypherStatement,
-                                                      Map<String, Object> props)
+                                                      Collection<String> propertyNames)
     {
         if (!cypherStatement.startsWith(UNWIND))
         {
@@ -132,18 +68,16 @@ public class CypherQueryUtils
         }
 
         // specify concrete properties to set
-        String propsClause = props.keySet()
-                                  .stream()
-                                  .map(p -> String.format("%s.%s = row.props.%s", alias, p, p))
-                                  .reduce((p1,
-                                           p2) -> p1 + "," + p2)
-                                  .get();
+        String propsClause = propertyNames.stream()
+                                          .map(p -> String.format("%s.%s = row.props.%s", alias, p, p))
+                                          .reduce((p1,
+                                                   p2) -> p1 + "," + p2)
+                                          .get();
 
         return cypherStatement.replace(setClause, "SET " + propsClause + " ");
     }
 
-    public static String normalizeMatchByIdWithRelationResult(String cypherStatement,
-                                                              String id)
+    public static String normalizeMatchByIdWithRelationResult(String cypherStatement)
     {
         // MATCH (n:`RepositoryArtifactIdGroup`)
         // WHERE n.`uuid` = { id }
@@ -259,7 +193,8 @@ public class CypherQueryUtils
                                                   .get();
 
         cypherStatement = matchClause + " " + whereClause + " " + WITH + " n " + withClause + " " + returnClause;
-        cypherStatement = cypherStatement.replace("{ id }", "'" + id + "'");
+        // the `id` parameter is bound on execution
+        cypherStatement = cypherStatement.replace("{ id }", "$id");
         return cypherStatement;
     }
 
@@ -278,7 +213,7 @@ public class CypherQueryUtils
         // (n)-[r_r1:`RepositoryArtifactIdGroupEntity_ArtifactGroupEntity`]->(a1:`ArtifactGroup`)
         // | [ r_r1, a1 ] ] ]";
 
-        System.out.println(normalizeMatchByIdWithRelationResult(query, "123"));
+        System.out.println(normalizeMatchByIdWithRelationResult(query));
     }
 
 }
@@ -0,0 +1,366 @@
+package org.opencypher.gremlin.neo4j.ogm;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Bytecode;
+import org.apache.tinkerpop.gremlin.process.traversal.P;
+import org.apache.tinkerpop.gremlin.process.traversal.util.ConnectiveP;
+import org.opencypher.gremlin.translation.CypherAst;
+import org.opencypher.gremlin.translation.groovy.GroovyPredicate;
+import org.opencypher.gremlin.translation.translator.Translator;
+
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.MetricRegistry;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+
+/**
+ * Bounded LRU cache of the Cypher statements translated into Gremlin bytecode, shared by all the OGM sessions, so that
+ * each statement template is parsed and translated once. The parameters are translated as bytecode bindings, which are
+ * bound with the actual parameter values on each execution (see {@link CypherTranslation#bind(Map)}).
+ * <p>
+ * The cache statistics are published into the metrics registry provided with {@code cypher-translation.cache} prefix.
+ */
+public class CypherTranslationCache
+{
+
+    public static final long DEFAULT_MAXIMUM_SIZE = 1000;
+
+    private final Cache<Key, CypherTranslation> cache;
+
+    private final LongAdder precompiledHits = new LongAdder();
+
+    /**
+     * The translations of the fixed statements (like the repository {@code @Query}s), which are never evicted. They
+     * are keyed same as the cached ones, so the executions with other parameter types are translated separately.
+     */
+    private final Map<Key, CypherTranslation> precompiled = new ConcurrentHashMap<>();
+
+    public CypherTranslationCache(long maximumSize,
+                                  MetricRegistry metricRegistry)
+    {
+        this.cache = CacheBuilder.newBuilder()
+                                 .maximumSize(maximumSize)
+                                 .recordStats()
+                                 .build();
+
+        register(metricRegistry, "hitRate", (Gauge<Double>) () -> cache.stats().hitRate());
+        register(metricRegistry, "hits", (Gauge<Long>) () -> cache.stats().hitCount());
+        register(metricRegistry, "misses", (Gauge<Long>) () -> cache.stats().missCount());
+        register(metricRegistry, "evictions", (Gauge<Long>) () -> cache.stats().evictionCount());
+        register(metricRegistry, "size", (Gauge<Long>) cache::size);
+        register(metricRegistry, "precompiled", (Gauge<Integer>) precompiled::size);
+        register(metricRegistry, "precompiledHits", (Gauge<Long>) precompiledHits::sum);
+    }
+
+    /**
+     * Replaces the gauge of the previous cache, if any, which was registered within the same registry.
+     */
+    private static void register(MetricRegistry metricRegistry,
+                                 String name,
+                                 Gauge<?> gauge)
+    {
+        String metricName = MetricRegistry.name("cypher-translation", "cache", name);
+        metricRegistry.remove(metricName);
+        metricRegistry.register(metricName, gauge);
+    }
+
+    /**
+     * @return the statement translation, the statement translated only if it's not cached yet
+     */
+    public CypherTranslation get(String statement,
+                                 Map<String, ?> parameters)
+    {
+        Key key = new Key(statement, parameters);
+        CypherTranslation translation = precompiled.get(key);
+        if (translation != null)
+        {
+            precompiledHits.increment();
+
+            return translation;
+        }
+
+        try
+        {
+            return cache.get(key, () -> new CypherTranslation(CypherAst.parse(statement, key.parameters)));
+        }
+        catch (ExecutionException | UncheckedExecutionException e)
+        {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException)
+            {
+                throw (RuntimeException) cause;
+            }
+
+            throw new IllegalArgumentException(String.format("Failed to translate [%s].", statement), cause);
+        }
+    }
+
+    /**
+     * Translates the statement with the sample parameters provided, the translation then used for all the executions
+     * of the statement with the same parameter types, the executions with other parameter types fall back to the
+     * cache.
+     *
+     * @throws RuntimeException
+     *             if the statement can't be translated
+     */
+    public CypherTranslation precompile(String statement,
+                                        Map<String, ?> parameters)
+    {
+        return precompiled.computeIfAbsent(new Key(statement, parameters),
+                                           k -> new CypherTranslation(CypherAst.parse(k.statement, k.parameters)));
+    }
+
+    public void invalidateAll()
+    {
+        cache.invalidateAll();
+    }
+
+    /**
+     * @return the statistics of the translations cached by the parameter types, the precompiled ones not included
+     */
+    public CacheStats stats()
+    {
+        return cache.stats();
+    }
+
+    public long size()
+    {
+        return cache.size();
+    }
+
+    public long precompiledHits()
+    {
+        return precompiledHits.sum();
+    }
+
+    public static class CypherTranslation
+    {
+
+        private static final Set<String> WRITE_STEPS = new HashSet<>(Arrays.asList("addV", "addE", "property", "drop"));
+
+        private final CypherAst ast;
+
+        private final Bytecode bytecode;
+
+        private final boolean write;
+
+        private volatile String gremlin;
+
+        CypherTranslation(CypherAst ast)
+        {
+            this.ast = ast;
+            this.bytecode = ast.buildTranslation(Translator.builder()
+                                                           .bytecode()
+                                                           .enableCypherExtensions()
+                                                           .build());
+            this.write = isWrite(bytecode);
+        }
+
+        public CypherAst getAst()
+        {
+            return ast;
+        }
+
+        /**
+         * @return true if the translation has any of the mutating steps, including the nested ones
+         */
+        public boolean isWrite()
+        {
+            return write;
+        }
+
+        private static boolean isWrite(Bytecode bytecode)
+        {
+            for (Bytecode.Instruction instruction : bytecode.getStepInstructions())
+            {
+                if (WRITE_STEPS.contains(instruction.getOperator()))
+                {
+                    return true;
+                }
+                for (Object argument : instruction.getArguments())
+                {
+                    if (argument instanceof Bytecode && isWrite((Bytecode) argument))
+                    {
+                        return true;
+                    }
+                }
+            }
+
+            return false;
+        }
+
+        /**
+         * @return the translation bytecode with the bindings bound to the parameter values provided, the bindings
+         *         which are not parameters (like the literals extracted by the Cypher parser) left as is
+         */
+        public Bytecode bind(Map<String, ?> parameters)
+        {
+            return bind(bytecode, parameters == null ? Collections.emptyMap() : parameters);
+        }
+
+        private static Bytecode bind(Bytecode bytecode,
+                                     Map<String, ?> parameters)
+        {
+            Bytecode result = new Bytecode();
+            for (Bytecode.Instruction instruction : bytecode.getSourceInstructions())
+            {
+                result.addSource(instruction.getOperator(), bind(instruction.getArguments(), parameters));
+            }
+            for (Bytecode.Instruction instruction : bytecode.getStepInstructions())
+            {
+                result.addStep(instruction.getOperator(), bind(instruction.getArguments(), parameters));
+            }
+
+            return result;
+        }
+
+        private static Object[] bind(Object[] arguments,
+                                     Map<String, ?> parameters)
+        {
+            Object[] result = new Object[arguments.length];
+            for (int i = 0; i < arguments.length; i++)
+            {
+                result[i] = bind(arguments[i], parameters);
+            }
+
+            return result;
+        }
+
+        private static Object bind(Object argument,
+                                   Map<String, ?> parameters)
+        {
+            if (argument instanceof Bytecode.Binding)
+            {
+                String variable = ((Bytecode.Binding<?>) argument).variable();
+
+                return parameters.containsKey(variable) ? new Bytecode.Binding<>(variable, parameters.get(variable))
+                        : argument;
+            }
+            if (argument instanceof Bytecode)
+            {
+                return bind((Bytecode) argument, parameters);
+            }
+            if (argument instanceof ConnectiveP)
+            {
+                ConnectiveP<?> predicate = (ConnectiveP<?>) ((ConnectiveP<?>) argument).clone();
+                for (P<?> p : predicate.getPredicates())
+                {
+                    bindValue(p, parameters);
+                }
+
+                return predicate;
+            }
+            if (argument instanceof P)
+            {
+                P<?> predicate = ((P<?>) argument).clone();
+                bindValue(predicate, parameters);
+
+                return predicate;
+            }
+            if (argument instanceof List)
+            {
+                List<Object> result = new ArrayList<>();
+                for (Object element : (List<?>) argument)
+                {
+                    result.add(bind(element, parameters));
+                }
+
+                return result;
+            }
+
+            return argument;
+        }
+
+        @SuppressWarnings("unchecked")
+        private static void bindValue(P<?> predicate,
+                                      Map<String, ?> parameters)
+        {
+            Object value = bind(predicate.getValue(), parameters);
+            ((P<Object>) predicate).setValue(value);
+        }
+
+        /**
+         * @return the Gremlin Groovy translation, which is used for logging only, so it's translated on demand
+         */
+        public String getGremlin()
+        {
+            if (gremlin == null)
+            {
+                Translator<String, GroovyPredicate> translator = Translator.builder()
+                                                                           .gremlinGroovy()
+                                                                           .enableCypherExtensions()
+                                                                           .build();
+                gremlin = ast.buildTranslation(translator);
+            }
+
+            return gremlin;
+        }
+
+    }
+
+    /**
+     * The statement translation depends on the parameter types (the Cypher parser infers the expression types from
+     * them), but not on the parameter values, so the key holds the statement along with the parameter types only.
+     */
+    private static final class Key
+    {
+
+        private final String statement;
+
+        private final Map<String, Object> parameterTypes;
+
+        /**
+         * The parameters to parse the statement with, they are not part of the key.
+         */
+        private final Map<String, ?> parameters;
+
+        private Key(String statement,
+                    Map<String, ?> parameters)
+        {
+            this.statement = statement;
+            this.parameters = parameters == null ? Collections.emptyMap() : new LinkedHashMap<>(parameters);
+            this.parameterTypes = new TreeMap<>();
+            this.parameters.forEach((k,
+                                     v) -> parameterTypes.put(k, v == null ? null : v.getClass()));
+        }
+
+        @Override
+        public boolean equals(Object obj)
+        {
+            if (this == obj)
+            {
+                return true;
+            }
+            if (!(obj instanceof Key))
+            {
+                return false;
+            }
+
+            Key other = (Key) obj;
+            return statement.equals(other.statement) && parameterTypes.equals(other.parameterTypes);
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return Objects.hash(statement, parameterTypes);
+        }
+
+    }
+
+}
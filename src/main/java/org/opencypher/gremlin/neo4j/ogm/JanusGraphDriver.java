@@ -1,6 +1,7 @@
 package org.opencypher.gremlin.neo4j.ogm;
 
 import java.util.function.BiFunction;
+import java.util.function.Consumer;
 import java.util.function.Function;
 
 import org.janusgraph.core.JanusGraph;
@@ -12,18 +13,48 @@ import org.neo4j.ogm.request.Request;
 import org.neo4j.ogm.transaction.Transaction;
 import org.neo4j.ogm.transaction.Transaction.Type;
 import org.neo4j.ogm.transaction.TransactionManager;
-import org.opencypher.gremlin.neo4j.driver.CypherGremlinStatementRunner;
+import org.opencypher.gremlin.neo4j.driver.EdgeLabelCache;
 import org.opencypher.gremlin.neo4j.ogm.request.GremlinRequest;
 import org.opencypher.gremlin.neo4j.ogm.transaction.GremlinTransaction;
 
+import com.codahale.metrics.MetricRegistry;
+
 public class JanusGraphDriver extends AbstractConfigurableDriver
 {
 
     private final JanusGraph graph;
 
+    private final CypherTranslationCache translationCache;
+
+    private final EdgeLabelCache edgeLabelCache;
+
+    private final Consumer<JanusGraphTransaction> beforeCommit;
+
     public JanusGraphDriver(JanusGraph graph)
+    {
+        this(graph, new CypherTranslationCache(CypherTranslationCache.DEFAULT_MAXIMUM_SIZE, new MetricRegistry()),
+                new EdgeLabelCache(graph), tx -> {
+                });
+    }
+
+    /**
+     * @param translationCache
+     *            the statement translations shared by all the driver transactions
+     * @param edgeLabelCache
+     *            the edge labels of the graph
+     * @param beforeCommit
+     *            called with each native transaction right before it's committed, to write the data which can't be
+     *            written with the Cypher statements
+     */
+    public JanusGraphDriver(JanusGraph graph,
+                            CypherTranslationCache translationCache,
+                            EdgeLabelCache edgeLabelCache,
+                            Consumer<JanusGraphTransaction> beforeCommit)
     {
         this.graph = graph;
+        this.translationCache = translationCache;
+        this.edgeLabelCache = edgeLabelCache;
+        this.beforeCommit = beforeCommit;
     }
 
     @Override
@@ -44,7 +75,8 @@ public class JanusGraphDriver extends AbstractConfigurableDriver
             }
             JanusGraphTransaction transaction = txBuilder.start();
 
-            return new GremlinTransaction(transactionManager, transaction, type);
+            return new GremlinTransaction(transactionManager, transaction, type, translationCache, edgeLabelCache,
+                    () -> beforeCommit.accept(transaction));
         };
 
     }
@@ -58,7 +90,7 @@ public class JanusGraphDriver extends AbstractConfigurableDriver
     @Override
     public Request request(Transaction transaction)
     {
-        return new GremlinRequest(new CypherGremlinStatementRunner((GremlinTransaction) transaction));
+        return new GremlinRequest(((GremlinTransaction) transaction).getStatementRunner(), translationCache);
     }
 
     @Override
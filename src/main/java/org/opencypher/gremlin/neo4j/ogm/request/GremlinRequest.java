@@ -2,9 +2,16 @@ package org.opencypher.gremlin.neo4j.ogm.request;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
 
 import org.apache.commons.lang3.tuple.Pair;
 import org.neo4j.driver.v1.StatementResult;
@@ -26,13 +33,11 @@ import org.neo4j.ogm.response.EmptyResponse;
 import org.neo4j.ogm.response.Response;
 import org.opencypher.gremlin.neo4j.driver.Neo4jDriverEntityAdapter;
 import org.opencypher.gremlin.neo4j.ogm.CypherQueryUtils;
+import org.opencypher.gremlin.neo4j.ogm.CypherTranslationCache;
 import org.opencypher.gremlin.neo4j.ogm.response.GremlinGraphRowModelResponse;
 import org.opencypher.gremlin.neo4j.ogm.response.GremlinModelResponse;
 import org.opencypher.gremlin.neo4j.ogm.response.GremlinRestModelResponse;
 import org.opencypher.gremlin.neo4j.ogm.response.GremlinRowModelResponse;
-import org.opencypher.gremlin.translation.CypherAst;
-import org.opencypher.gremlin.translation.groovy.GroovyPredicate;
-import org.opencypher.gremlin.translation.translator.Translator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -41,12 +46,22 @@ public class GremlinRequest implements Request
 
     private static final Logger logger = LoggerFactory.getLogger(GremlinRequest.class);
 
+    /**
+     * The OGM load by id statement with the related entities, see
+     * {@link CypherQueryUtils#normalizeMatchByIdWithRelationResult(String)}.
+     */
+    private static final Pattern MATCH_BY_ID_WITH_RELATIONS = Pattern.compile(
+            "^MATCH \\(n(:`\\w+`)+\\)\\s+WHERE n\\.`uuid` = \\{ id \\}\\s+WITH n\\s+RETURN n,\\s*\\[\\s*\\[");
+
     private final StatementRunner statementRunner;
+    private final CypherTranslationCache translationCache;
     private final Neo4jDriverEntityAdapter entityAdapter = new Neo4jDriverEntityAdapter();
 
-    public GremlinRequest(StatementRunner statementRunner)
+    public GremlinRequest(StatementRunner statementRunner,
+                          CypherTranslationCache translationCache)
     {
         this.statementRunner = statementRunner;
+        this.translationCache = translationCache;
     }
 
     @Override
@@ -74,10 +89,19 @@ public class GremlinRequest implements Request
     {
         final List<RowModel> rowModels = new ArrayList<>();
         String[] columns = null;
+        List<Pair<String, Map<String, Object>>> statements = new ArrayList<>();
         for (Statement statement : query.getStatements())
         {
+            for (Map<String, Object> parameters : groupRowsByPropertyNames(statement.getParameters()))
+            {
+                statements.add(Pair.of(statement.getStatement(), parameters));
+            }
+        }
 
-            StatementResult result = executeRequest(statement);
+        for (Pair<String, Map<String, Object>> statement : statements)
+        {
+
+            StatementResult result = executeRequest(statement.getLeft(), statement.getRight());
 
             if (columns == null)
             {
@@ -125,13 +149,16 @@ public class GremlinRequest implements Request
 
     private org.neo4j.driver.v1.StatementResult executeRequest(Statement query)
     {
-        Map<String, Object> parameterMap = query.getParameters();
-        String cypherStatement = query.getStatement();
+        return executeRequest(query.getStatement(), query.getParameters());
+    }
+
+    private org.neo4j.driver.v1.StatementResult executeRequest(String cypherStatement,
+                                                               Map<String, Object> parameterMap)
+    {
         logger.debug("Cypher: {} with params {}", cypherStatement, parameterMap);
 
         Pair<String, Map<String, Object>> cypherWithParams = Pair.of(cypherStatement, parameterMap);
         cypherStatement = Optional.of(cypherWithParams)
-                                  .map(this::inlineParameters)
                                   .map(this::normalizeMergeByIdWithParams)
                                   .map(this::normalizeMatchByIdWithRelationResult)
                                   .map(Pair::getLeft)
@@ -139,12 +166,10 @@ public class GremlinRequest implements Request
         
         logger.debug("Cypher(normalized): {}", cypherStatement);
         
-        CypherAst ast = CypherAst.parse(cypherStatement, parameterMap);
-        Translator<String, GroovyPredicate> translator = Translator.builder()
-                                                                   .gremlinGroovy()
-                                                                   .enableCypherExtensions()
-                                                                   .build();
-        logger.debug("Gremlin: {}", ast.buildTranslation(translator));
+        if (logger.isDebugEnabled())
+        {
+            logger.debug("Gremlin: {}", translationCache.get(cypherStatement, parameterMap).getGremlin());
+        }
 
         return statementRunner.run(cypherStatement, parameterMap);
     }
@@ -152,15 +177,64 @@ public class GremlinRequest implements Request
     protected Pair<String, Map<String, Object>> normalizeMatchByIdWithRelationResult(Pair<String, Map<String, Object>> cyphterWithParams)
     {
         return Optional.of(cyphterWithParams)
-                       .map(p -> p.getRight())
-                       .map(p -> p.get("id"))
-                       .map(id -> id.toString())
-                       .map(id -> CypherQueryUtils.normalizeMatchByIdWithRelationResult(cyphterWithParams.getLeft(),
-                                                                                        id))
+                       .filter(p -> p.getRight() != null && p.getRight().containsKey("id"))
+                       .map(p -> p.getLeft())
+                       .filter(s -> MATCH_BY_ID_WITH_RELATIONS.matcher(s).find())
+                       .map(CypherQueryUtils::normalizeMatchByIdWithRelationResult)
                        .map(s -> Pair.of(s, cyphterWithParams.getRight()))
                        .orElse(cyphterWithParams);
     }
 
+    /**
+     * The {@code UNWIND $rows} statement is executed for all the rows at once, so it sets the same properties of all
+     * the rows, and the properties which are absent within some of the rows would be removed from their entities. So
+     * the rows are grouped by their property names and each group is executed with separate statement.
+     *
+     * @return the statement parameters of each group, or the same parameters if there is nothing to group
+     */
+    @SuppressWarnings("unchecked")
+    static List<Map<String, Object>> groupRowsByPropertyNames(Map<String, Object> parameters)
+    {
+        Object rows = parameters == null ? null : parameters.get("rows");
+        if (!(rows instanceof Collection))
+        {
+            return Collections.singletonList(parameters);
+        }
+
+        Map<Set<String>, List<Object>> groups = new LinkedHashMap<>();
+        for (Object row : (Collection<Object>) rows)
+        {
+            groups.computeIfAbsent(propertyNames(row), k -> new ArrayList<>()).add(row);
+        }
+        if (groups.size() <= 1)
+        {
+            return Collections.singletonList(parameters);
+        }
+
+        List<Map<String, Object>> result = new ArrayList<>(groups.size());
+        for (List<Object> group : groups.values())
+        {
+            Map<String, Object> groupParameters = new HashMap<>(parameters);
+            groupParameters.put("rows", group);
+            result.add(groupParameters);
+        }
+
+        return result;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Set<String> propertyNames(Object row)
+    {
+        Object props = row instanceof Map ? ((Map<String, Object>) row).get("props") : null;
+
+        return props instanceof Map ? new LinkedHashSet<>(((Map<String, Object>) props).keySet())
+                : Collections.emptySet();
+    }
+
+    /**
+     * @throws IllegalArgumentException
+     *             if the rows have different property names (see {@link #groupRowsByPropertyNames(Map)})
+     */
     protected Pair<String, Map<String, Object>> normalizeMergeByIdWithParams(Pair<String, Map<String, Object>> cyphterWithParams)
     {
         return Optional.of(cyphterWithParams)
@@ -168,25 +242,27 @@ public class GremlinRequest implements Request
                        .map(p -> p.get("rows"))
                        .filter(r -> r instanceof Collection)
                        .map(r -> (Collection<Object>) r)
-                       .map(r -> r.iterator().next())
-                       .map(r -> (Map<String, Object>) r)
-                       .map(r -> r.get("props"))
-                       .filter(p -> p instanceof Map)
-                       .map(p -> (Map<String, Object>) p)
-                       .map(p -> CypherQueryUtils.normalizeMergeByIdWithParams(cyphterWithParams.getLeft(), p))
-                       .map(s -> Pair.of(s, cyphterWithParams.getRight()))
-                       .orElse(cyphterWithParams);
-    }
+                       .map(r -> r.stream()
+                                  .map(GremlinRequest::propertyNames)
+                                  .collect(Collectors.toSet()))
+                       .filter(propertyNamesSets -> !propertyNamesSets.isEmpty())
+                       .map(propertyNamesSets -> {
+                           if (propertyNamesSets.size() > 1)
+                           {
+                               throw new IllegalArgumentException(String.format("Rows of [%s] have different properties %s.",
+                                                                                cyphterWithParams.getLeft(),
+                                                                                propertyNamesSets));
+                           }
 
-    protected Pair<String, Map<String, Object>> inlineParameters(Pair<String, Map<String, Object>> cyphterWithParams)
-    {
-        return Optional.of(cyphterWithParams.getRight())
-                       .filter(p -> !p.isEmpty())
-                       .map(p -> CypherQueryUtils.inlineParameters(cyphterWithParams.getLeft(), p))
+                           return propertyNamesSets.iterator().next();
+                       })
+                       .filter(propertyNames -> !propertyNames.isEmpty())
+                       .map(propertyNames -> CypherQueryUtils.normalizeMergeByIdWithParams(cyphterWithParams.getLeft(),
+                                                                                           propertyNames))
                        .map(s -> Pair.of(s, cyphterWithParams.getRight()))
                        .orElse(cyphterWithParams);
     }
-    
+
     private static class MultiStatementBasedResponse implements Response<RowModel>
     {
         // This implementation is not good, but it preserved the current
@@ -27,9 +27,21 @@ public abstract class GremlinResponse<T> implements Response<T>
     @Override
     public void close()
     {
+        discardRemaining();
         result.consume();
     }
 
+    /**
+     * Pulls the records which were not fetched, so the statement is executed completely before it's consumed.
+     */
+    protected void discardRemaining()
+    {
+        while (result.hasNext())
+        {
+            result.next();
+        }
+    }
+
     @Override
     public String[] columns()
     {
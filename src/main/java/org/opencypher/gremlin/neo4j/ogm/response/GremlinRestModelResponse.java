@@ -1,12 +1,10 @@
 package org.opencypher.gremlin.neo4j.ogm.response;
 
-import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
-import org.neo4j.driver.v1.Record;
 import org.neo4j.driver.v1.StatementResult;
 import org.neo4j.ogm.config.ObjectMapperFactory;
 import org.neo4j.ogm.model.QueryStatistics;
@@ -23,8 +21,7 @@ public class GremlinRestModelResponse extends GremlinResponse<RestModel>
 {
 
     private final RestModelAdapter restModelAdapter;
-    private final QueryStatisticsModel statisticsModel;
-    private final Iterator<Record> resultProjection;
+    private QueryStatisticsModel statisticsModel;
 
     public GremlinRestModelResponse(StatementResult result,
                                     Neo4jDriverEntityAdapter entityAdapter)
@@ -33,8 +30,6 @@ public class GremlinRestModelResponse extends GremlinResponse<RestModel>
         super(result);
 
         this.restModelAdapter = new GremlinRestModelAdapter(entityAdapter);
-        this.resultProjection = result.list().iterator();
-        this.statisticsModel = new StatisticsModelAdapter().adapt(result);
     }
 
     @Override
@@ -46,18 +41,28 @@ public class GremlinRestModelResponse extends GremlinResponse<RestModel>
 
     private Map<String, Object> buildModel()
     {
+        // the records are mapped one by one as they pulled from the result
         Map<String, Object> row = new LinkedHashMap<>();
-        if (resultProjection.hasNext())
+        if (result.hasNext())
         {
-            row = restModelAdapter.adapt(resultProjection.next().asMap());
+            row = restModelAdapter.adapt(result.next().asMap());
         }
 
         return row;
     }
 
+    /**
+     * The statistics are available once the result consumed, so the records which were not fetched yet are discarded.
+     */
     @Override
     public Optional<QueryStatistics> getStatistics()
     {
+        if (statisticsModel == null)
+        {
+            discardRemaining();
+            statisticsModel = new StatisticsModelAdapter().adapt(result);
+        }
+
         return Optional.of(statisticsModel);
     }
 
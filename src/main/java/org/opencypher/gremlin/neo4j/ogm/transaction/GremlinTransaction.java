@@ -4,6 +4,9 @@ import org.apache.tinkerpop.gremlin.structure.Graph;
 import org.neo4j.ogm.exception.TransactionException;
 import org.neo4j.ogm.transaction.AbstractTransaction;
 import org.neo4j.ogm.transaction.TransactionManager;
+import org.opencypher.gremlin.neo4j.driver.CypherGremlinStatementRunner;
+import org.opencypher.gremlin.neo4j.driver.EdgeLabelCache;
+import org.opencypher.gremlin.neo4j.ogm.CypherTranslationCache;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -14,13 +17,37 @@ public class GremlinTransaction extends AbstractTransaction
 
     private final Graph nativeTransaction;
 
+    private final CypherTranslationCache translationCache;
+
+    private final EdgeLabelCache edgeLabelCache;
+
+    private final Runnable beforeCommit;
+
+    private CypherGremlinStatementRunner statementRunner;
+
     public GremlinTransaction(TransactionManager transactionManager,
                               Graph nativeTransaction,
-                              Type type)
+                              Type type,
+                              CypherTranslationCache translationCache,
+                              EdgeLabelCache edgeLabelCache)
+    {
+        this(transactionManager, nativeTransaction, type, translationCache, edgeLabelCache, () -> {
+        });
+    }
+
+    public GremlinTransaction(TransactionManager transactionManager,
+                              Graph nativeTransaction,
+                              Type type,
+                              CypherTranslationCache translationCache,
+                              EdgeLabelCache edgeLabelCache,
+                              Runnable beforeCommit)
     {
         super(transactionManager);
         this.type = type;
         this.nativeTransaction = nativeTransaction;
+        this.translationCache = translationCache;
+        this.edgeLabelCache = edgeLabelCache;
+        this.beforeCommit = beforeCommit;
     }
 
     public Graph getNativeTransaction()
@@ -28,6 +55,20 @@ public class GremlinTransaction extends AbstractTransaction
         return nativeTransaction;
     }
 
+    /**
+     * @return the statement runner (along with its session and client) shared by all the requests within this
+     *         transaction
+     */
+    public synchronized CypherGremlinStatementRunner getStatementRunner()
+    {
+        if (statementRunner == null)
+        {
+            statementRunner = new CypherGremlinStatementRunner(this, translationCache, edgeLabelCache);
+        }
+
+        return statementRunner;
+    }
+
     @Override
     public void rollback()
     {
@@ -98,6 +139,7 @@ public class GremlinTransaction extends AbstractTransaction
 
         logger.debug("Committing native transaction: {}", nativeTransaction);
 
+        beforeCommit.run();
         nativeTransaction.tx().commit();
         nativeTransaction.tx().close();
     }
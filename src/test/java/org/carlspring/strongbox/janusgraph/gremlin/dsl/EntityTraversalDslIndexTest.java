@@ -0,0 +1,103 @@
+package org.carlspring.strongbox.janusgraph.gremlin.dsl;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.tinkerpop.gremlin.process.traversal.util.Metrics;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalMetrics;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.carlspring.strongbox.janusgraph.domain.Artifact;
+import org.carlspring.strongbox.janusgraph.domain.ArtifactCoordinates;
+import org.carlspring.strongbox.janusgraph.schema.StrongboxSchema;
+import org.janusgraph.core.JanusGraph;
+import org.janusgraph.core.JanusGraphFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.opencypher.gremlin.neo4j.driver.EdgeLabelCache;
+import org.springframework.util.FileSystemUtils;
+
+/**
+ * The queries which should be answered by the {@link StrongboxSchema} indexes, the graph scans are disabled.
+ */
+public class EntityTraversalDslIndexTest
+{
+
+    private Path luceneDirectory;
+
+    private JanusGraph janusGraph;
+
+    private EntityTraversalSource g;
+
+    @BeforeEach
+    public void setUp()
+        throws IOException,
+        InterruptedException
+    {
+        luceneDirectory = Files.createTempDirectory("lucene");
+        janusGraph = JanusGraphFactory.build()
+                                      .set("storage.backend", "inmemory")
+                                      .set("index.search.backend", "lucene")
+                                      .set("index.search.directory", luceneDirectory.toString())
+                                      .set("query.force-index", true)
+                                      .open();
+        new StrongboxSchema().createSchema(janusGraph, new EdgeLabelCache(janusGraph));
+        g = janusGraph.traversal(EntityTraversalSource.class);
+    }
+
+    @AfterEach
+    public void tearDown()
+        throws IOException
+    {
+        janusGraph.close();
+        FileSystemUtils.deleteRecursively(luceneDirectory);
+    }
+
+    @Test
+    public void findAfterShouldUseSearchIndex()
+    {
+        for (int i = 0; i < 5; i++)
+        {
+            g.addV(ArtifactCoordinates.LABEL).property("uuid", String.format("artifact-etdit-fasusi-%s.jar", i)).iterate();
+            // Other label vertices should not be fetched
+            g.addV(Artifact.LABEL).property("uuid", String.format("artifact-etdit-fasusi-%s", i)).iterate();
+        }
+        janusGraph.tx().commit();
+
+        List<String> page = g.V().<Vertex>findAfter(ArtifactCoordinates.LABEL, null, 2).<String>values("uuid").toList();
+        assertEquals(Arrays.asList("artifact-etdit-fasusi-0.jar", "artifact-etdit-fasusi-1.jar"), page);
+
+        page = g.V().<Vertex>findAfter(ArtifactCoordinates.LABEL, page.get(1), 2).<String>values("uuid").toList();
+        assertEquals(Arrays.asList("artifact-etdit-fasusi-2.jar", "artifact-etdit-fasusi-3.jar"), page);
+
+        // Not sorted in memory
+        TraversalMetrics metrics = g.V().findAfter(ArtifactCoordinates.LABEL, page.get(1), 2).profile().next();
+        Map<String, String> annotations = new HashMap<>();
+        collectAnnotations(metrics.getMetrics(), annotations);
+        assertEquals(StrongboxSchema.uuidSearchIndex(ArtifactCoordinates.LABEL), annotations.get("index"));
+        assertEquals("true", annotations.get("isOrdered"));
+        janusGraph.tx().rollback();
+    }
+
+    /**
+     * Collects the annotations of the JanusGraph query profile, like {@code index} and {@code isOrdered}.
+     */
+    private void collectAnnotations(Iterable<? extends Metrics> metrics,
+                                    Map<String, String> annotations)
+    {
+        for (Metrics m : metrics)
+        {
+            m.getAnnotations().forEach((k,
+                                        v) -> annotations.put(k, String.valueOf(v)));
+            collectAnnotations(m.getNested(), annotations);
+        }
+    }
+
+}
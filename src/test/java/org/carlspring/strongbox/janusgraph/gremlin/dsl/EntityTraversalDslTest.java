@@ -0,0 +1,104 @@
+package org.carlspring.strongbox.janusgraph.gremlin.dsl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.carlspring.strongbox.janusgraph.domain.ArtifactCoordinates;
+import org.janusgraph.core.JanusGraph;
+import org.janusgraph.core.JanusGraphFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class EntityTraversalDslTest
+{
+
+    private JanusGraph janusGraph;
+
+    private EntityTraversalSource g;
+
+    @BeforeEach
+    public void setUp()
+    {
+        janusGraph = JanusGraphFactory.build().set("storage.backend", "inmemory").open();
+        g = janusGraph.traversal(EntityTraversalSource.class);
+    }
+
+    @AfterEach
+    public void tearDown()
+    {
+        janusGraph.close();
+    }
+
+    @Test
+    public void saveAllShouldWork()
+    {
+        Vertex existing = g.addV(ArtifactCoordinates.LABEL)
+                           .property("uuid", "artifact-etdt-sasw-0.jar")
+                           .property("version", "1.0.0")
+                           .next();
+
+        List<Map<String, Object>> rows = new ArrayList<>();
+        for (int i = 0; i < 3; i++)
+        {
+            rows.add(row(String.format("artifact-etdt-sasw-%s.jar", i), "2.0.0"));
+        }
+        rows.add(row(null, "3.0.0"));
+
+        List<Vertex> result = g.inject(0).saveAllV(ArtifactCoordinates.LABEL, rows).toList();
+        assertEquals(4, result.size());
+        assertEquals(existing.id(), result.get(0).id());
+        for (int i = 0; i < 3; i++)
+        {
+            assertEquals(String.format("artifact-etdt-sasw-%s.jar", i), result.get(i).value("uuid"));
+            assertEquals("2.0.0", result.get(i).value("version"));
+        }
+        assertNotNull(result.get(3).value("uuid"));
+        assertEquals("3.0.0", result.get(3).value("version"));
+
+        assertEquals(Long.valueOf(4L), g.V().hasLabel(ArtifactCoordinates.LABEL).count().next());
+    }
+
+    @Test
+    public void saveAllDuplicatesShouldWork()
+    {
+        g.addV(ArtifactCoordinates.LABEL)
+         .property("uuid", "artifact-etdt-sadsw-0.jar")
+         .property("version", "1.0.0")
+         .iterate();
+
+        List<Map<String, Object>> rows = Arrays.asList(row("artifact-etdt-sadsw-0.jar", "2.0.0"),
+                                                       row("artifact-etdt-sadsw-1.jar", "2.0.0"),
+                                                       row("artifact-etdt-sadsw-0.jar", "3.0.0"),
+                                                       row("artifact-etdt-sadsw-1.jar", "3.0.0"));
+
+        List<Vertex> result = g.inject(0).saveAllV(ArtifactCoordinates.LABEL, rows).toList();
+        assertEquals(4, result.size());
+        assertEquals(result.get(0).id(), result.get(2).id());
+        assertEquals(result.get(1).id(), result.get(3).id());
+
+        // The last row wins
+        assertEquals("3.0.0", g.V(result.get(0).id()).values("version").next());
+        assertEquals("3.0.0", g.V(result.get(1).id()).values("version").next());
+
+        assertEquals(Long.valueOf(2L), g.V().hasLabel(ArtifactCoordinates.LABEL).count().next());
+    }
+
+    private Map<String, Object> row(String uuid,
+                                    String version)
+    {
+        Map<String, Object> row = new HashMap<>();
+        row.put("uuid", uuid);
+        row.put("version", version);
+
+        return row;
+    }
+
+}
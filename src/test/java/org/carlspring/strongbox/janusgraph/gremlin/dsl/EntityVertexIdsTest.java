@@ -0,0 +1,113 @@
+package org.carlspring.strongbox.janusgraph.gremlin.dsl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.List;
+import java.util.UUID;
+
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.carlspring.strongbox.janusgraph.domain.Artifact;
+import org.janusgraph.core.JanusGraph;
+import org.janusgraph.core.JanusGraphFactory;
+import org.janusgraph.graphdb.database.StandardJanusGraph;
+import org.janusgraph.graphdb.idmanagement.IDManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class EntityVertexIdsTest
+{
+
+    private JanusGraph janusGraph;
+
+    private IDManager idManager;
+
+    @BeforeEach
+    public void setUp()
+    {
+        janusGraph = JanusGraphFactory.build()
+                                      .set("storage.backend", "inmemory")
+                                      .set("graph.set-vertex-id", true)
+                                      .open();
+        idManager = ((StandardJanusGraph) janusGraph).getIDManager();
+    }
+
+    @AfterEach
+    public void tearDown()
+    {
+        janusGraph.close();
+    }
+
+    @Test
+    public void vertexIdsShouldBeDeterministic()
+    {
+        EntityVertexIds entityVertexIds = new EntityVertexIds(idManager);
+        String uuid = UUID.randomUUID().toString();
+
+        List<Long> vertexIds = entityVertexIds.vertexIds(Artifact.LABEL, uuid);
+        assertEquals(EntityVertexIds.CANDIDATES, vertexIds.size());
+        assertEquals(vertexIds, new EntityVertexIds(idManager).vertexIds(Artifact.LABEL, uuid));
+        assertNotEquals(vertexIds.get(0), vertexIds.get(1));
+        for (Long vertexId : vertexIds)
+        {
+            assertTrue(idManager.isUserVertexId(vertexId));
+        }
+
+        assertNotEquals(vertexIds, entityVertexIds.vertexIds("ArtifactCoordinates", uuid));
+    }
+
+    @Test
+    public void collidingVertexIdsShouldWork()
+    {
+        // All the uuids have the same first candidate id
+        EntityVertexIds entityVertexIds = new EntityVertexIds(idManager)
+        {
+
+            @Override
+            protected long hash(String label,
+                                String uuid,
+                                int candidate)
+            {
+                return candidate == 0 ? 42L : super.hash(label, uuid, candidate);
+            }
+
+        };
+        EntityTraversalSource g = janusGraph.traversal(EntityTraversalSource.class)
+                                            .withStrategies(new EntityVertexIdsStrategy(entityVertexIds));
+
+        String firstUuid = UUID.randomUUID().toString();
+        String secondUuid = UUID.randomUUID().toString();
+        Vertex first = g.V().saveV(Artifact.LABEL, firstUuid, __.<Vertex>identity()).next();
+        Vertex second = g.V().saveV(Artifact.LABEL, secondUuid, __.<Vertex>identity()).next();
+        janusGraph.tx().commit();
+
+        assertEquals(entityVertexIds.vertexIds(Artifact.LABEL, firstUuid).get(0), first.id());
+        assertEquals(entityVertexIds.vertexIds(Artifact.LABEL, secondUuid).get(1), second.id());
+
+        assertEquals(first.id(), g.V().findById(Artifact.LABEL, firstUuid).id().next());
+        assertEquals(second.id(), g.V().findById(Artifact.LABEL, secondUuid).id().next());
+
+        // Existing vertex should be fetched rather than created
+        assertEquals(first.id(), g.V().saveV(Artifact.LABEL, firstUuid, __.<Vertex>identity()).next().id());
+        assertEquals(2L, g.V().hasLabel(Artifact.LABEL).count().next().longValue());
+        janusGraph.tx().rollback();
+    }
+
+    @Test
+    public void disabledVertexIdsShouldBeNoop()
+    {
+        EntityVertexIds entityVertexIds = new EntityVertexIds(null);
+        assertFalse(entityVertexIds.isEnabled());
+        assertThrows(IllegalStateException.class, () -> entityVertexIds.vertexIds(Artifact.LABEL, "uuid"));
+
+        EntityTraversalSource g = janusGraph.traversal(EntityTraversalSource.class)
+                                            .withStrategies(new EntityVertexIdsStrategy(entityVertexIds));
+        assertFalse(g.V().findById(Artifact.LABEL, "uuid").hasNext());
+        janusGraph.tx().rollback();
+    }
+
+}
@@ -1,14 +1,18 @@
 package org.carlspring.strongbox.janusgraph.gremlin.repositories;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 
 import java.util.Arrays;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.stream.Collectors;
 
 import javax.inject.Inject;
@@ -18,9 +22,16 @@ import org.carlspring.strongbox.janusgraph.domain.ArtifactCoordinatesEntity;
 import org.carlspring.strongbox.janusgraph.domain.ArtifactEntity;
 import org.carlspring.strongbox.janusgraph.domain.ArtifactGroupEntity;
 import org.carlspring.strongbox.janusgraph.domain.RepositoryArtifactIdGroupEntity;
+import org.carlspring.strongbox.janusgraph.gremlin.repositories.adapters.ArtifactGroupAdapter;
+import org.carlspring.strongbox.janusgraph.gremlin.repositories.adapters.LazyPagedSet;
+import org.carlspring.strongbox.janusgraph.gremlin.tx.GremlinUnitOfWork;
+import org.carlspring.strongbox.janusgraph.gremlin.tx.GremlinUnitOfWorkManager;
+import org.janusgraph.core.JanusGraph;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.util.AopTestUtils;
+import org.springframework.test.util.ReflectionTestUtils;
 
 @SpringBootTest(classes = Application.class)
 public class GremlinArtifactGroupRepositoryTest
@@ -42,6 +53,15 @@ public class GremlinArtifactGroupRepositoryTest
     @Qualifier("gremlinRepositoryArtifactIdGroupRepository")
     private RepositoryArtifactIdGroupRepository repositoryArtifactIdGroupRepository;
 
+    @Inject
+    private GremlinUnitOfWorkManager unitOfWorkManager;
+
+    @Inject
+    private ArtifactGroupAdapter artifactGroupAdapter;
+
+    @Inject
+    private JanusGraph janusGraph;
+
     @Test
     public void crudShouldWork()
     {
@@ -166,20 +186,307 @@ public class GremlinArtifactGroupRepositoryTest
         assertEquals("org/carlspring/artifact-gagrt-isw-new", artifactGroupEntity.getGroupId());
 
         // Delete
+        ArtifactEntity artifactEntity = repositoryArtifactIdGroupEntity.getArtifacts().iterator().next();
         repositoryArtifactIdGroupRepository.delete(repositoryArtifactIdGroupEntity);
         assertEquals(Optional.empty(), repositoryArtifactIdGroupRepository.findById(repositoryArtifactIdGroupId));
         assertEquals(Optional.empty(), gremlinArtifactGroupRepository.findById(repositoryArtifactIdGroupId));
+        assertEquals(Optional.empty(), gremlinArtifactRepository.findById(artifactEntity.getUuid()));
         assertEquals(Optional.empty(),
-                     gremlinArtifactRepository.findById(repositoryArtifactIdGroupEntity.getArtifacts()
-                                                                                       .iterator()
-                                                                                       .next()
-                                                                                       .getUuid()));
-        assertEquals(Optional.empty(),
-                     gremlinArtifactCoordinatesRepository.findById(repositoryArtifactIdGroupEntity.getArtifacts()
-                                                                                                  .iterator()
-                                                                                                  .next()
-                                                                                                  .getArtifactCoordinates()
-                                                                                                  .getUuid()));
+                     gremlinArtifactCoordinatesRepository.findById(artifactEntity.getArtifactCoordinates().getUuid()));
+    }
+
+    @Test
+    public void artifactsUpdateShouldWork()
+    {
+        ArtifactGroupEntity artifactGroupEntity = new ArtifactGroupEntity();
+        artifactGroupEntity.setGroupId("org/carlspring/artifact-gagrt-ausw");
+        artifactGroupEntity.setArtifacts(new HashSet<>());
+        for (int i = 0; i < 3; i++)
+        {
+            ArtifactCoordinatesEntity artifactCoordinatesEntity = new ArtifactCoordinatesEntity();
+            artifactCoordinatesEntity.setPath(String.format("org/carlspring/artifact-gagrt-ausw-%s.jar", i));
+
+            ArtifactEntity artifactEntity = new ArtifactEntity();
+            artifactEntity.setStorageId("storage0");
+            artifactEntity.setRepositoryId("releases");
+            artifactEntity.setArtifactCoordinates(artifactCoordinatesEntity);
+
+            artifactGroupEntity.getArtifacts().add(artifactEntity);
+        }
+        artifactGroupEntity = gremlinArtifactGroupRepository.save(artifactGroupEntity);
+        assertEquals(3, artifactGroupEntity.getArtifacts().size());
+
+        // Remove one artifact from the group
+        ArtifactEntity removedArtifactEntity = artifactGroupEntity.getArtifacts().iterator().next();
+        artifactGroupEntity.getArtifacts().remove(removedArtifactEntity);
+        artifactGroupEntity = gremlinArtifactGroupRepository.save(artifactGroupEntity);
+        assertEquals(2, artifactGroupEntity.getArtifacts().size());
+        assertNotEquals(Optional.empty(), gremlinArtifactRepository.findById(removedArtifactEntity.getUuid()));
+
+        // Add it back, existing artifacts should stay linked once
+        artifactGroupEntity.getArtifacts().add(removedArtifactEntity);
+        artifactGroupEntity = gremlinArtifactGroupRepository.save(artifactGroupEntity);
+        assertEquals(3, artifactGroupEntity.getArtifacts().size());
+        artifactGroupEntity = gremlinArtifactGroupRepository.findById(artifactGroupEntity.getUuid()).get();
+        assertEquals(3, artifactGroupEntity.getArtifacts().size());
+        assertEquals(3, gremlinArtifactGroupRepository.countArtifacts(artifactGroupEntity.getUuid()));
+    }
+
+    @Test
+    public void artifactsUpdateShouldNotSaveMembers()
+    {
+        ArtifactGroupEntity artifactGroupEntity = new ArtifactGroupEntity();
+        artifactGroupEntity.setGroupId("org/carlspring/artifact-gagrt-aussm");
+        for (int i = 0; i < 2; i++)
+        {
+            ArtifactCoordinatesEntity artifactCoordinatesEntity = new ArtifactCoordinatesEntity();
+            artifactCoordinatesEntity.setPath(String.format("org/carlspring/artifact-gagrt-aussm-%s.jar", i));
+
+            ArtifactEntity artifactEntity = new ArtifactEntity();
+            artifactEntity.setStorageId("storage0");
+            artifactEntity.setRepositoryId("releases");
+            artifactEntity.setSizeInBytes((long) i);
+            artifactEntity.setArtifactCoordinates(artifactCoordinatesEntity);
+
+            artifactGroupEntity.getArtifacts().add(artifactEntity);
+        }
+        String artifactGroupId = gremlinArtifactGroupRepository.save(artifactGroupEntity).getUuid();
+
+        artifactGroupEntity = gremlinArtifactGroupRepository.findById(artifactGroupId).get();
+        ArtifactEntity removedArtifactEntity = null;
+        ArtifactEntity updatedArtifactEntity = null;
+        for (ArtifactEntity artifactEntity : artifactGroupEntity.getArtifacts())
+        {
+            if (artifactEntity.getSizeInBytes() == 0L)
+            {
+                removedArtifactEntity = artifactEntity;
+            }
+            else
+            {
+                updatedArtifactEntity = artifactEntity;
+            }
+        }
+
+        ArtifactCoordinatesEntity artifactCoordinatesEntity = new ArtifactCoordinatesEntity();
+        artifactCoordinatesEntity.setPath("org/carlspring/artifact-gagrt-aussm-2.jar");
+
+        ArtifactEntity addedArtifactEntity = new ArtifactEntity();
+        addedArtifactEntity.setStorageId("storage0");
+        addedArtifactEntity.setRepositoryId("releases");
+        addedArtifactEntity.setSizeInBytes(2L);
+        addedArtifactEntity.setArtifactCoordinates(artifactCoordinatesEntity);
+
+        updatedArtifactEntity.setSizeInBytes(11L);
+        artifactGroupEntity.getArtifacts().remove(removedArtifactEntity);
+        artifactGroupEntity.getArtifacts().add(addedArtifactEntity);
+        gremlinArtifactGroupRepository.save(artifactGroupEntity);
+
+        assertEquals(2, gremlinArtifactGroupRepository.countArtifacts(artifactGroupId));
+        // Members should be saved on their own
+        assertEquals(Long.valueOf(1L),
+                     gremlinArtifactRepository.findById(updatedArtifactEntity.getUuid()).get().getSizeInBytes());
+        gremlinArtifactRepository.save(updatedArtifactEntity);
+
+        Set<Long> sizes = gremlinArtifactGroupRepository.findById(artifactGroupId)
+                                                        .get()
+                                                        .getArtifacts()
+                                                        .stream()
+                                                        .map(ArtifactEntity::getSizeInBytes)
+                                                        .collect(Collectors.toSet());
+        assertEquals(new HashSet<>(Arrays.asList(11L, 2L)), sizes);
+        assertEquals(Long.valueOf(11L),
+                     gremlinArtifactRepository.findById(updatedArtifactEntity.getUuid()).get().getSizeInBytes());
+        // Unlinked artifact should not be deleted
+        assertEquals(Long.valueOf(0L),
+                     gremlinArtifactRepository.findById(removedArtifactEntity.getUuid()).get().getSizeInBytes());
+    }
+
+    @Test
+    public void lazyArtifactsShouldWork()
+    {
+        ArtifactGroupEntity artifactGroupEntity = new ArtifactGroupEntity();
+        artifactGroupEntity.setGroupId("org/carlspring/artifact-gagrt-lasw");
+        for (int i = 0; i < 3; i++)
+        {
+            ArtifactCoordinatesEntity artifactCoordinatesEntity = new ArtifactCoordinatesEntity();
+            artifactCoordinatesEntity.setPath(String.format("org/carlspring/artifact-gagrt-lasw-%s.jar", i));
+
+            ArtifactEntity artifactEntity = new ArtifactEntity();
+            artifactEntity.setStorageId("storage0");
+            artifactEntity.setRepositoryId(String.format("releases-%s", i));
+            artifactEntity.setArtifactCoordinates(artifactCoordinatesEntity);
+
+            artifactGroupEntity.getArtifacts().add(artifactEntity);
+        }
+        String artifactGroupId = gremlinArtifactGroupRepository.save(artifactGroupEntity).getUuid();
+
+        artifactGroupEntity = gremlinArtifactGroupRepository.findById(artifactGroupId).get();
+        LazyPagedSet<ArtifactEntity> artifacts = (LazyPagedSet<ArtifactEntity>) artifactGroupEntity.getArtifacts();
+        assertEquals(3, artifacts.size());
+        assertFalse(artifacts.isLoaded());
+
+        // Unchanged artifacts should not be saved
+        artifactGroupEntity.setGroupId("org/carlspring/artifact-gagrt-lasw-new");
+        gremlinArtifactGroupRepository.save(artifactGroupEntity);
+        assertFalse(artifacts.isLoaded());
+
+        // Added artifacts should be linked without fetching the others
+        ArtifactCoordinatesEntity artifactCoordinatesEntity = new ArtifactCoordinatesEntity();
+        artifactCoordinatesEntity.setPath("org/carlspring/artifact-gagrt-lasw-3.jar");
+
+        ArtifactEntity artifactEntity = new ArtifactEntity();
+        artifactEntity.setStorageId("storage0");
+        artifactEntity.setRepositoryId("releases-3");
+        artifactEntity.setArtifactCoordinates(artifactCoordinatesEntity);
+
+        artifacts.add(artifactEntity);
+        assertEquals(4, artifacts.size());
+        gremlinArtifactGroupRepository.save(artifactGroupEntity);
+        assertFalse(artifacts.isLoaded());
+        assertEquals(4, gremlinArtifactGroupRepository.countArtifacts(artifactGroupId));
+
+        Set<String> repositoryIds = artifacts.stream().map(ArtifactEntity::getRepositoryId).collect(Collectors.toSet());
+        assertEquals(new HashSet<>(Arrays.asList("releases-0", "releases-1", "releases-2", "releases-3")),
+                     repositoryIds);
+        assertTrue(artifacts.isLoaded());
+    }
+
+    @Test
+    public void lazyArtifactsPagesShouldWork()
+        throws Exception
+    {
+        Object pageSize = ReflectionTestUtils.getField(artifactGroupAdapter, "pageSize");
+        // Several pages should be fetched
+        ReflectionTestUtils.setField(artifactGroupAdapter, "pageSize", 2);
+        try
+        {
+            ArtifactGroupEntity artifactGroupEntity = new ArtifactGroupEntity();
+            artifactGroupEntity.setGroupId("org/carlspring/artifact-gagrt-lapsw");
+            for (int i = 0; i < 5; i++)
+            {
+                ArtifactCoordinatesEntity artifactCoordinatesEntity = new ArtifactCoordinatesEntity();
+                artifactCoordinatesEntity.setPath(String.format("org/carlspring/artifact-gagrt-lapsw-%s.jar", i));
+
+                ArtifactEntity artifactEntity = new ArtifactEntity();
+                artifactEntity.setStorageId("storage0");
+                artifactEntity.setRepositoryId(String.format("releases-%s", i));
+                artifactEntity.setArtifactCoordinates(artifactCoordinatesEntity);
+
+                artifactGroupEntity.getArtifacts().add(artifactEntity);
+            }
+            String artifactGroupId = gremlinArtifactGroupRepository.save(artifactGroupEntity).getUuid();
+            janusGraph.tx().commit();
+
+            LazyPagedSet<ArtifactEntity> artifacts = (LazyPagedSet<ArtifactEntity>) gremlinArtifactGroupRepository.findById(artifactGroupId)
+                                                                                                                   .get()
+                                                                                                                   .getArtifacts();
+            assertEquals(5, artifacts.size());
+
+            Set<String> repositoryIds = new HashSet<>();
+            Iterator<ArtifactEntity> iterator = artifacts.iterator();
+            for (int i = 0; i < 3; i++)
+            {
+                repositoryIds.add(iterator.next().getRepositoryId());
+            }
+            assertFalse(artifacts.isLoaded());
+            janusGraph.tx().commit();
+
+            // The rest of the pages should be fetched by another thread, without opening its own transaction
+            ExecutorService executor = Executors.newSingleThreadExecutor();
+            try
+            {
+                assertFalse(executor.submit(() -> {
+                    iterator.forEachRemaining(a -> repositoryIds.add(a.getRepositoryId()));
+                    return janusGraph.tx().isOpen();
+                }).get());
+            }
+            finally
+            {
+                executor.shutdown();
+            }
+
+            assertTrue(artifacts.isLoaded());
+            assertEquals(5, artifacts.size());
+            assertEquals(new HashSet<>(Arrays.asList("releases-0", "releases-1", "releases-2", "releases-3",
+                                                     "releases-4")),
+                         repositoryIds);
+        }
+        finally
+        {
+            ReflectionTestUtils.setField(artifactGroupAdapter, "pageSize", pageSize);
+        }
+    }
+
+    @Test
+    public void deleteAllShouldWork()
+    {
+        Object target = AopTestUtils.getUltimateTargetObject(repositoryArtifactIdGroupRepository);
+        Object batchSize = ReflectionTestUtils.getField(target, "batchSize");
+        // Several batches should be deleted
+        ReflectionTestUtils.setField(target, "batchSize", 2);
+        try
+        {
+            long count = repositoryArtifactIdGroupRepository.count();
+            Set<String> artifactIds = new HashSet<>();
+            for (int i = 0; i < 5; i++)
+            {
+                artifactIds.addAll(saveRepositoryArtifactIdGroup(String.format("dasw-%s", i)));
+            }
+            assertEquals(count + 5, repositoryArtifactIdGroupRepository.count());
+            // The batches are committed only if there is no transaction opened by the caller
+            janusGraph.tx().commit();
+
+            repositoryArtifactIdGroupRepository.deleteAll();
+            assertEquals(0, repositoryArtifactIdGroupRepository.count());
+            artifactIds.forEach(id -> assertEquals(Optional.empty(), gremlinArtifactRepository.findById(id)));
+
+            // Within unit of work nothing should be committed
+            for (int i = 0; i < 2; i++)
+            {
+                saveRepositoryArtifactIdGroup(String.format("dasw-uow-%s", i));
+            }
+            janusGraph.tx().commit();
+
+            try (GremlinUnitOfWork unitOfWork = unitOfWorkManager.builder().begin())
+            {
+                saveRepositoryArtifactIdGroup("dasw-uow-2");
+                assertEquals(3, repositoryArtifactIdGroupRepository.count());
+
+                repositoryArtifactIdGroupRepository.deleteAll();
+                assertEquals(0, repositoryArtifactIdGroupRepository.count());
+            }
+            assertEquals(2, repositoryArtifactIdGroupRepository.count());
+
+            repositoryArtifactIdGroupRepository.deleteAll();
+            assertEquals(0, repositoryArtifactIdGroupRepository.count());
+        }
+        finally
+        {
+            ReflectionTestUtils.setField(target, "batchSize", batchSize);
+        }
+    }
+
+    private Set<String> saveRepositoryArtifactIdGroup(String name)
+    {
+        ArtifactCoordinatesEntity artifactCoordinatesEntity = new ArtifactCoordinatesEntity();
+        artifactCoordinatesEntity.setPath(String.format("org/carlspring/artifact-gagrt-%s.jar", name));
+
+        ArtifactEntity artifactEntity = new ArtifactEntity();
+        artifactEntity.setStorageId("storage0");
+        artifactEntity.setRepositoryId("releases");
+        artifactEntity.setArtifactCoordinates(artifactCoordinatesEntity);
+
+        RepositoryArtifactIdGroupEntity repositoryArtifactIdGroupEntity = new RepositoryArtifactIdGroupEntity();
+        repositoryArtifactIdGroupEntity.setGroupId(String.format("org/carlspring/artifact-gagrt-%s", name));
+        repositoryArtifactIdGroupEntity.setStorageId("storage0");
+        repositoryArtifactIdGroupEntity.setRepositoryId("releases");
+        repositoryArtifactIdGroupEntity.getArtifacts().add(artifactEntity);
+
+        return repositoryArtifactIdGroupRepository.save(repositoryArtifactIdGroupEntity)
+                                                  .getArtifacts()
+                                                  .stream()
+                                                  .map(ArtifactEntity::getUuid)
+                                                  .collect(Collectors.toSet());
     }
 
 }
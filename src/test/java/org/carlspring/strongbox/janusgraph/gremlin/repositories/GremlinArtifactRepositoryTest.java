@@ -0,0 +1,269 @@
+package org.carlspring.strongbox.janusgraph.gremlin.repositories;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import javax.inject.Inject;
+
+import org.carlspring.strongbox.janusgraph.app.Application;
+import org.carlspring.strongbox.janusgraph.domain.Artifact;
+import org.carlspring.strongbox.janusgraph.domain.ArtifactCoordinatesEntity;
+import org.carlspring.strongbox.janusgraph.domain.ArtifactEntity;
+import org.carlspring.strongbox.janusgraph.gremlin.repositories.adapters.EntityProjection;
+import org.janusgraph.core.JanusGraph;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
+
+@SpringBootTest(classes = Application.class)
+public class GremlinArtifactRepositoryTest
+{
+
+    @Inject
+    @Qualifier("gremlinArtifactRepository")
+    private ArtifactRepository gremlinArtifactRepository;
+
+    @Inject
+    @Qualifier("gremlinArtifactCoordinatesRepository")
+    private ArtifactCoordinatesRepository gremlinArtifactCoordinatesRepository;
+
+    @Inject
+    private JanusGraph janusGraph;
+
+    @Inject
+    private MetricRegistry metricRegistry;
+
+    @Test
+    public void saveAllShouldWork()
+    {
+        List<ArtifactEntity> artifacts = new ArrayList<>();
+        for (int i = 0; i < 250; i++)
+        {
+            ArtifactEntity artifactEntity = artifact(String.format("org/carlspring/artifact-gart-sasw-%s.jar", i));
+            artifactEntity.setSizeInBytes((long) i);
+
+            artifacts.add(artifactEntity);
+        }
+
+        List<ArtifactEntity> result = new ArrayList<>();
+        gremlinArtifactRepository.saveAll(artifacts).forEach(result::add);
+        assertEquals(artifacts.size(), result.size());
+
+        for (int i = 0; i < result.size(); i++)
+        {
+            ArtifactEntity artifactEntity = result.get(i);
+            assertNotNull(artifactEntity.getUuid());
+            assertEquals(Long.valueOf(i), artifactEntity.getSizeInBytes());
+            assertEquals(String.format("org/carlspring/artifact-gart-sasw-%s.jar", i),
+                         artifactEntity.getArtifactCoordinates().getPath());
+            assertNotEquals(Optional.empty(), gremlinArtifactRepository.findById(artifactEntity.getUuid()));
+        }
+    }
+
+    @Test
+    public void saveAllShouldNotCommitCallerTransaction()
+    {
+        janusGraph.tx().rollback();
+
+        // Pending changes of the caller
+        String pendingUuid = gremlinArtifactRepository.save(artifact("org/carlspring/artifact-gart-sanccp.jar"))
+                                                      .getUuid();
+        List<ArtifactEntity> artifacts = new ArrayList<>();
+        for (int i = 0; i < 150; i++)
+        {
+            artifacts.add(artifact(String.format("org/carlspring/artifact-gart-sancct-%s.jar", i)));
+        }
+        List<ArtifactEntity> result = new ArrayList<>();
+        gremlinArtifactRepository.saveAll(artifacts).forEach(result::add);
+        janusGraph.tx().rollback();
+
+        assertFalse(janusGraph.traversal().V().has("uuid", pendingUuid).hasNext());
+        assertFalse(janusGraph.traversal().V().has("uuid", result.get(0).getUuid()).hasNext());
+        janusGraph.tx().rollback();
+
+        // The transaction opened by the repository itself is committed
+        result.clear();
+        gremlinArtifactRepository.saveAll(artifacts).forEach(result::add);
+        janusGraph.tx().rollback();
+
+        assertTrue(janusGraph.traversal().V().has("uuid", result.get(0).getUuid()).hasNext());
+        assertTrue(janusGraph.traversal().V().has("uuid", result.get(149).getUuid()).hasNext());
+        janusGraph.tx().rollback();
+    }
+
+    @Test
+    public void saveAndForgetShouldWork()
+    {
+        ArtifactEntity artifactEntity = artifact("org/carlspring/artifact-gart-safsw.jar");
+        artifactEntity.setSizeInBytes(123L);
+
+        // Create
+        Object vertexId = gremlinArtifactRepository.saveAndForget(artifactEntity);
+        assertNotNull(vertexId);
+
+        String uuid = (String) janusGraph.traversal().V(vertexId).values("uuid").next();
+        artifactEntity = gremlinArtifactRepository.findById(uuid).get();
+        assertEquals(Long.valueOf(123L), artifactEntity.getSizeInBytes());
+        assertEquals("org/carlspring/artifact-gart-safsw.jar", artifactEntity.getArtifactCoordinates().getPath());
+
+        // Update, the same vertex should be saved
+        artifactEntity.setSizeInBytes(321L);
+        assertEquals(vertexId, gremlinArtifactRepository.saveAndForget(artifactEntity));
+        assertEquals(Long.valueOf(321L), gremlinArtifactRepository.findById(uuid).get().getSizeInBytes());
+        assertEquals(Long.valueOf(1L),
+                     janusGraph.traversal().V().has("uuid", "org/carlspring/artifact-gart-safsw.jar").count().next());
+    }
+
+    @Test
+    public void deleteAllShouldWork()
+    {
+        List<ArtifactEntity> artifacts = new ArrayList<>();
+        for (int i = 0; i < 3; i++)
+        {
+            ArtifactEntity artifactEntity = artifact("org/carlspring/artifact-gart-dasw.jar");
+            artifactEntity.setRepositoryId(String.format("releases-%s", i));
+
+            artifacts.add(gremlinArtifactRepository.save(artifactEntity));
+        }
+        assertNotEquals(Optional.empty(),
+                        gremlinArtifactCoordinatesRepository.findById("org/carlspring/artifact-gart-dasw.jar"));
+
+        gremlinArtifactRepository.deleteAll(artifacts.subList(0, 2));
+        assertEquals(Optional.empty(), gremlinArtifactRepository.findById(artifacts.get(0).getUuid()));
+        assertEquals(Optional.empty(), gremlinArtifactRepository.findById(artifacts.get(1).getUuid()));
+        assertNotEquals(Optional.empty(),
+                        gremlinArtifactCoordinatesRepository.findById("org/carlspring/artifact-gart-dasw.jar"));
+
+        gremlinArtifactRepository.deleteAll(artifacts);
+        assertEquals(Optional.empty(), gremlinArtifactRepository.findById(artifacts.get(2).getUuid()));
+        assertEquals(Optional.empty(),
+                     gremlinArtifactCoordinatesRepository.findById("org/carlspring/artifact-gart-dasw.jar"));
+    }
+
+    @Test
+    public void saveWithoutArtifactCoordinatesShouldWork()
+    {
+        ArtifactEntity artifactEntity = new ArtifactEntity();
+        artifactEntity.setStorageId("storage0");
+        artifactEntity.setRepositoryId("releases-gart-swacsw");
+        artifactEntity = gremlinArtifactRepository.save(artifactEntity);
+
+        artifactEntity = gremlinArtifactRepository.findById(artifactEntity.getUuid()).get();
+        assertEquals("releases-gart-swacsw", artifactEntity.getRepositoryId());
+        assertNull(artifactEntity.getArtifactCoordinates());
+
+        // Existing coordinates should be kept
+        artifactEntity = gremlinArtifactRepository.save(artifact("org/carlspring/artifact-gart-swacsw.jar"));
+        artifactEntity.setArtifactCoordinates(null);
+        artifactEntity.setSizeInBytes(123L);
+        gremlinArtifactRepository.save(artifactEntity);
+
+        artifactEntity = gremlinArtifactRepository.findById(artifactEntity.getUuid()).get();
+        assertEquals(Long.valueOf(123L), artifactEntity.getSizeInBytes());
+        assertEquals("org/carlspring/artifact-gart-swacsw.jar", artifactEntity.getArtifactCoordinates().getPath());
+    }
+
+    @Test
+    public void projectionShouldWork()
+    {
+        ArtifactEntity artifactEntity = artifact("org/carlspring/artifact-gart-psw.jar");
+        artifactEntity.setRepositoryId("releases-gart-psw");
+        artifactEntity.setSizeInBytes(123L);
+        String uuid = gremlinArtifactRepository.save(artifactEntity).getUuid();
+
+        artifactEntity = gremlinArtifactRepository.findById(uuid, EntityProjection.of("sizeInBytes")).get();
+        assertEquals(uuid, artifactEntity.getUuid());
+        assertEquals(Long.valueOf(123L), artifactEntity.getSizeInBytes());
+        assertNull(artifactEntity.getStorageId());
+        assertNull(artifactEntity.getArtifactCoordinates());
+
+        artifactEntity = gremlinArtifactRepository.findById(uuid, EntityProjection.of("artifactCoordinates.path"))
+                                                  .get();
+        assertNull(artifactEntity.getSizeInBytes());
+        assertEquals("org/carlspring/artifact-gart-psw.jar", artifactEntity.getArtifactCoordinates().getPath());
+        assertNull(artifactEntity.getArtifactCoordinates().getVersion());
+
+        EntityProjection projection = EntityProjection.of("repositoryId");
+        try (Stream<ArtifactEntity> artifacts = gremlinArtifactRepository.findAllAsStream(projection))
+        {
+            artifactEntity = artifacts.filter(a -> uuid.equals(a.getUuid())).findFirst().get();
+        }
+        assertEquals("releases-gart-psw", artifactEntity.getRepositoryId());
+        assertNull(artifactEntity.getSizeInBytes());
+        assertNull(artifactEntity.getArtifactCoordinates());
+    }
+
+    @Test
+    public void findCreatedBetweenShouldWork()
+    {
+        String repositoryId = "releases-gart-fcbsw";
+        long now = System.currentTimeMillis();
+
+        List<ArtifactEntity> artifacts = new ArrayList<>();
+        for (int i = 0; i < 3; i++)
+        {
+            ArtifactEntity artifactEntity = artifact(String.format("org/carlspring/artifact-gart-fcbsw-%s.jar", i));
+            artifactEntity.setRepositoryId(repositoryId);
+            artifactEntity.setCreated(new Date(now + i * 1000L));
+            artifacts.add(artifactEntity);
+        }
+        gremlinArtifactRepository.saveAll(artifacts);
+        janusGraph.tx().commit();
+
+        List<ArtifactEntity> result = gremlinArtifactRepository.findCreatedBetween("storage0", repositoryId,
+                                                                                   new Date(now + 1000L),
+                                                                                   new Date(now + 2000L));
+        assertEquals(1, result.size());
+        assertEquals(new Date(now + 1000L), result.get(0).getCreated());
+
+        assertEquals(2, gremlinArtifactRepository.findCreatedSince("storage0", repositoryId, new Date(now + 1000L))
+                                                 .size());
+        assertEquals(0, gremlinArtifactRepository.findCreatedSince("storage0", repositoryId, new Date(now + 3000L))
+                                                 .size());
+    }
+
+    @Test
+    public void traversalMetricsShouldWork()
+    {
+        Timer timer = metricRegistry.timer(MetricRegistry.name("gremlin-repository", "ArtifactRepository",
+                                                               Artifact.LABEL, "traversal"));
+        long count = timer.getCount();
+
+        ArtifactEntity artifactEntity = artifact("org/carlspring/artifact-gart-tmsw.jar");
+        String uuid = gremlinArtifactRepository.save(artifactEntity).getUuid();
+        assertEquals(count + 1, timer.getCount());
+
+        gremlinArtifactRepository.findById(uuid, EntityProjection.of("sizeInBytes"));
+        gremlinArtifactRepository.findById(UUID.randomUUID().toString(), EntityProjection.of("sizeInBytes"));
+        assertEquals(count + 3, timer.getCount());
+    }
+
+    private ArtifactEntity artifact(String path)
+    {
+        ArtifactCoordinatesEntity artifactCoordinatesEntity = new ArtifactCoordinatesEntity();
+        artifactCoordinatesEntity.setPath(path);
+        artifactCoordinatesEntity.setVersion("1.2.3");
+
+        ArtifactEntity artifactEntity = new ArtifactEntity();
+        artifactEntity.setStorageId("storage0");
+        artifactEntity.setRepositoryId("releases");
+        artifactEntity.setArtifactCoordinates(artifactCoordinatesEntity);
+
+        return artifactEntity;
+    }
+
+}
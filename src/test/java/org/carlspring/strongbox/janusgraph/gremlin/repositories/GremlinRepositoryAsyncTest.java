@@ -0,0 +1,43 @@
+package org.carlspring.strongbox.janusgraph.gremlin.repositories;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+import javax.inject.Inject;
+
+import org.carlspring.strongbox.janusgraph.app.Application;
+import org.carlspring.strongbox.janusgraph.domain.ArtifactCoordinatesEntity;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+
+@SpringBootTest(classes = Application.class)
+public class GremlinRepositoryAsyncTest
+{
+
+    @Inject
+    @Qualifier("gremlinArtifactCoordinatesRepository")
+    private ArtifactCoordinatesRepository gremlinArtifactCoordinatesRepository;
+
+    @Test
+    public void asyncShouldWork()
+    {
+        ArtifactCoordinatesEntity artifactCoordinatesEntity = new ArtifactCoordinatesEntity();
+        artifactCoordinatesEntity.setPath("org/carlspring/artifact-grat-asw.jar");
+
+        artifactCoordinatesEntity = gremlinArtifactCoordinatesRepository.saveAsync(artifactCoordinatesEntity).join();
+        assertEquals("org/carlspring/artifact-grat-asw.jar", artifactCoordinatesEntity.getUuid());
+
+        CompletableFuture<Optional<ArtifactCoordinatesEntity>> existing = gremlinArtifactCoordinatesRepository.findByIdAsync("org/carlspring/artifact-grat-asw.jar");
+        CompletableFuture<Optional<ArtifactCoordinatesEntity>> missing = gremlinArtifactCoordinatesRepository.findByIdAsync("org/carlspring/artifact-grat-asw-x.jar");
+        assertNotEquals(Optional.empty(), existing.join());
+        assertEquals(Optional.empty(), missing.join());
+
+        gremlinArtifactCoordinatesRepository.deleteByIdAsync("org/carlspring/artifact-grat-asw.jar").join();
+        assertEquals(Optional.empty(), gremlinArtifactCoordinatesRepository.findById("org/carlspring/artifact-grat-asw.jar"));
+    }
+
+}
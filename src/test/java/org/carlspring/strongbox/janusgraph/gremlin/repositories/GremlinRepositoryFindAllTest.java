@@ -0,0 +1,141 @@
+package org.carlspring.strongbox.janusgraph.gremlin.repositories;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import javax.inject.Inject;
+
+import org.carlspring.strongbox.janusgraph.app.Application;
+import org.carlspring.strongbox.janusgraph.domain.ArtifactCoordinatesEntity;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Slice;
+
+@SpringBootTest(classes = Application.class)
+public class GremlinRepositoryFindAllTest
+{
+
+    @Inject
+    @Qualifier("gremlinArtifactCoordinatesRepository")
+    private ArtifactCoordinatesRepository gremlinArtifactCoordinatesRepository;
+
+    @Value("${strongbox.graph.gremlin.repositories.sliceSize:1000}")
+    private int sliceSize;
+
+    @Test
+    public void findAllByIdShouldWork()
+    {
+        for (int i = 0; i < 3; i++)
+        {
+            String path = String.format("org/carlspring/artifact-grfat-faibsw-%s.jar", i);
+            gremlinArtifactCoordinatesRepository.save(artifactCoordinates(path));
+        }
+
+        List<ArtifactCoordinatesEntity> result = new ArrayList<>();
+        gremlinArtifactCoordinatesRepository.findAllById(Arrays.asList("org/carlspring/artifact-grfat-faibsw-2.jar",
+                                                                       "org/carlspring/artifact-grfat-faibsw-x.jar",
+                                                                       "org/carlspring/artifact-grfat-faibsw-0.jar",
+                                                                       "org/carlspring/artifact-grfat-faibsw-1.jar"))
+                                            .forEach(result::add);
+        assertEquals(3, result.size());
+        assertEquals("org/carlspring/artifact-grfat-faibsw-2.jar", result.get(0).getPath());
+        assertEquals("org/carlspring/artifact-grfat-faibsw-0.jar", result.get(1).getPath());
+        assertEquals("org/carlspring/artifact-grfat-faibsw-1.jar", result.get(2).getPath());
+    }
+
+    /**
+     * The entities are saved within the current transaction and not committed, so they should be found within all the
+     * slices.
+     */
+    @Test
+    public void findAllByIdSlicesShouldWork()
+    {
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; i < 2 * sliceSize + 1; i++)
+        {
+            ids.add(String.format("org/carlspring/artifact-grfat-faibssw-%s.jar", i));
+        }
+        List<String> savedIds = Arrays.asList(ids.get(0), ids.get(sliceSize), ids.get(2 * sliceSize));
+        for (String id : savedIds)
+        {
+            gremlinArtifactCoordinatesRepository.save(artifactCoordinates(id));
+        }
+
+        List<String> result = new ArrayList<>();
+        gremlinArtifactCoordinatesRepository.findAllById(ids).forEach(e -> result.add(e.getPath()));
+        assertEquals(savedIds, result);
+    }
+
+    @Test
+    public void findAllShouldWork()
+    {
+        gremlinArtifactCoordinatesRepository.save(artifactCoordinates("org/carlspring/artifact-grfat-fasw.jar"));
+
+        long count = gremlinArtifactCoordinatesRepository.count();
+        assertTrue(count > 0);
+        try (Stream<ArtifactCoordinatesEntity> stream = gremlinArtifactCoordinatesRepository.findAllAsStream())
+        {
+            assertEquals(count, stream.count());
+        }
+
+        long iterableCount = 0;
+        for (ArtifactCoordinatesEntity artifactCoordinatesEntity : gremlinArtifactCoordinatesRepository.findAll())
+        {
+            iterableCount++;
+        }
+        assertEquals(count, iterableCount);
+    }
+
+    @Test
+    public void findAllPagesShouldWork()
+    {
+        gremlinArtifactCoordinatesRepository.save(artifactCoordinates("org/carlspring/artifact-grfat-fapsw.jar"));
+        long count = gremlinArtifactCoordinatesRepository.count();
+
+        Set<String> uuids = new HashSet<>();
+        Set<String> saved = new HashSet<>();
+        String lastUuid = null;
+        Slice<ArtifactCoordinatesEntity> slice;
+        do
+        {
+            slice = gremlinArtifactCoordinatesRepository.findAll(lastUuid, 10);
+            assertTrue(slice.getNumberOfElements() <= 10);
+            for (ArtifactCoordinatesEntity artifactCoordinatesEntity : slice)
+            {
+                String uuid = artifactCoordinatesEntity.getUuid();
+                assertTrue(lastUuid == null || uuid.compareTo(lastUuid) > 0);
+                assertTrue(uuids.add(uuid));
+                lastUuid = uuid;
+            }
+
+            // The entities saved before the continuation token should not shift the next pages
+            String path = String.format("!org/carlspring/artifact-grfat-fapsw-%s.jar", UUID.randomUUID());
+            gremlinArtifactCoordinatesRepository.save(artifactCoordinates(path));
+            saved.add(path);
+        } while (slice.hasNext());
+
+        assertEquals(count, uuids.size());
+        assertFalse(uuids.stream().anyMatch(saved::contains));
+    }
+
+    private ArtifactCoordinatesEntity artifactCoordinates(String path)
+    {
+        ArtifactCoordinatesEntity artifactCoordinatesEntity = new ArtifactCoordinatesEntity();
+        artifactCoordinatesEntity.setPath(path);
+        artifactCoordinatesEntity.setVersion("1.2.3");
+
+        return artifactCoordinatesEntity;
+    }
+
+}
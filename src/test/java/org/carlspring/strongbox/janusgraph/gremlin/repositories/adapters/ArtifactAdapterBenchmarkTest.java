@@ -0,0 +1,189 @@
+package org.carlspring.strongbox.janusgraph.gremlin.repositories.adapters;
+
+import static org.carlspring.strongbox.janusgraph.gremlin.repositories.adapters.EntityTraversalUtils.extractDate;
+import static org.carlspring.strongbox.janusgraph.gremlin.repositories.adapters.EntityTraversalUtils.extractList;
+import static org.carlspring.strongbox.janusgraph.gremlin.repositories.adapters.EntityTraversalUtils.extractObject;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+import javax.inject.Inject;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Step;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.carlspring.strongbox.janusgraph.app.Application;
+import org.carlspring.strongbox.janusgraph.domain.Artifact;
+import org.carlspring.strongbox.janusgraph.domain.ArtifactCoordinates;
+import org.carlspring.strongbox.janusgraph.domain.ArtifactCoordinatesEntity;
+import org.carlspring.strongbox.janusgraph.domain.ArtifactEntity;
+import org.carlspring.strongbox.janusgraph.domain.Edges;
+import org.carlspring.strongbox.janusgraph.gremlin.dsl.EntityTraversalSource;
+import org.carlspring.strongbox.janusgraph.gremlin.dsl.__;
+import org.carlspring.strongbox.janusgraph.gremlin.repositories.ArtifactRepository;
+import org.janusgraph.core.JanusGraph;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+
+/**
+ * Compares the {@link ArtifactAdapter#fold()} with the per property {@code coalesce()} projection it replaced.
+ * <p>
+ * Excluded from the default build, run with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+@SpringBootTest(classes = Application.class)
+public class ArtifactAdapterBenchmarkTest
+{
+
+    private static final Logger logger = LoggerFactory.getLogger(ArtifactAdapterBenchmarkTest.class);
+
+    private static final int ITERATIONS = 500;
+
+    @Inject
+    private JanusGraph janusGraph;
+
+    @Inject
+    private ArtifactAdapter artifactAdapter;
+
+    @Inject
+    @Qualifier("gremlinArtifactRepository")
+    private ArtifactRepository gremlinArtifactRepository;
+
+    @Test
+    public void foldShouldBeFasterThanCoalesceProjection()
+    {
+        ArtifactCoordinatesEntity artifactCoordinatesEntity = new ArtifactCoordinatesEntity();
+        artifactCoordinatesEntity.setPath("org/carlspring/artifact-aabt-fsbftcp.jar");
+        artifactCoordinatesEntity.setVersion("1.2.3");
+
+        ArtifactEntity artifactEntity = new ArtifactEntity();
+        artifactEntity.setStorageId("storage0");
+        artifactEntity.setRepositoryId("releases");
+        artifactEntity.setSizeInBytes(123L);
+        artifactEntity.setTags(new HashSet<>(Arrays.asList(new String[] { "release" })));
+        artifactEntity.setArtifactCoordinates(artifactCoordinatesEntity);
+        String uuid = gremlinArtifactRepository.save(artifactEntity).getUuid();
+        janusGraph.tx().commit();
+
+        // The baseline is built once and copied for each call, the same as the adapter templates
+        Traversal<Vertex, ArtifactEntity> coalesceTemplate = coalesceProjection();
+
+        int foldSteps = steps(artifactAdapter.fold());
+        int coalesceSteps = steps(coalesceTemplate);
+        assertTrue(foldSteps < coalesceSteps);
+
+        // Warm up
+        measure(() -> g().V().findById(Artifact.LABEL, uuid).map(artifactAdapter.fold()).next());
+        measure(() -> g().V().findById(Artifact.LABEL, uuid).map(coalesceTemplate.asAdmin().clone()).next());
+
+        long foldTime = measure(() -> g().V().findById(Artifact.LABEL, uuid).map(artifactAdapter.fold()).next());
+        long coalesceTime = measure(() -> g().V()
+                                             .findById(Artifact.LABEL, uuid)
+                                             .map(coalesceTemplate.asAdmin().clone())
+                                             .next());
+        logger.info(String.format("Fold: steps [%s], latency [%s]us; coalesce projection: steps [%s], latency [%s]us.",
+                                  foldSteps,
+                                  foldTime / ITERATIONS / 1000,
+                                  coalesceSteps,
+                                  coalesceTime / ITERATIONS / 1000));
+
+        ArtifactEntity folded = g().V().findById(Artifact.LABEL, uuid).map(artifactAdapter.fold()).next();
+        ArtifactEntity coalesced = g().V().findById(Artifact.LABEL, uuid).map(coalesceTemplate.asAdmin().clone()).next();
+        assertEquals(uuid, folded.getUuid());
+        assertEquals(coalesced.getUuid(), folded.getUuid());
+        assertEquals(coalesced.getSizeInBytes(), folded.getSizeInBytes());
+        assertEquals(coalesced.getTags(), folded.getTags());
+        assertEquals(coalesced.getArtifactCoordinates().getPath(), folded.getArtifactCoordinates().getPath());
+        janusGraph.tx().rollback();
+    }
+
+    private EntityTraversalSource g()
+    {
+        return janusGraph.traversal(EntityTraversalSource.class);
+    }
+
+    /**
+     * Each iteration runs within new transaction, so the vertices are fetched from the storage.
+     */
+    private long measure(Supplier<Object> query)
+    {
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++)
+        {
+            query.get();
+            janusGraph.tx().rollback();
+        }
+
+        return System.nanoTime() - start;
+    }
+
+    private int steps(Traversal<?, ?> traversal)
+    {
+        return TraversalHelper.getStepsOfAssignableClassRecursively(Step.class, traversal.asAdmin()).size();
+    }
+
+    /**
+     * The projection as it was before the {@code valueMap()} one, including the {@code mapToObject()} step of the
+     * coordinates and the mapping to entities.
+     */
+    private Traversal<Vertex, ArtifactEntity> coalesceProjection()
+    {
+        return __.<Vertex, Object>project("uuid", "storageId", "repositoryId", "sizeInBytes", "created", "tags",
+                                          "artifactCoordinates")
+                 .by(__.enrichPropertyValue("uuid"))
+                 .by(__.enrichPropertyValue("storageId"))
+                 .by(__.enrichPropertyValue("repositoryId"))
+                 .by(__.enrichPropertyValue("sizeInBytes"))
+                 .by(__.enrichPropertyValue("created"))
+                 .by(__.enrichPropertyValues("tags"))
+                 .by(__.outE(Edges.ARTIFACT_ARTIFACTCOORDINATES)
+                       .mapToObject(__.inV()
+                                      .hasLabel(ArtifactCoordinates.LABEL)
+                                      .project("uuid", "path", "version")
+                                      .by(__.enrichPropertyValue("uuid"))
+                                      .by(__.enrichPropertyValue("path"))
+                                      .by(__.enrichPropertyValue("version"))
+                                      .map(this::mapArtifactCoordinates)
+                                      .map(EntityTraversalUtils::castToObject)))
+                 .map(this::mapArtifact);
+    }
+
+    private ArtifactEntity mapArtifact(Traverser<Map<String, Object>> t)
+    {
+        ArtifactEntity result = new ArtifactEntity();
+        result.setUuid(extractObject(String.class, t.get().get("uuid")));
+        result.setStorageId(extractObject(String.class, t.get().get("storageId")));
+        result.setRepositoryId(extractObject(String.class, t.get().get("repositoryId")));
+        result.setSizeInBytes(extractObject(Long.class, t.get().get("sizeInBytes")));
+        result.setCreated(extractDate(t.get().get("created")));
+        result.setTags(Optional.ofNullable(extractList(String.class, t.get().get("tags")))
+                               .map(HashSet::new)
+                               .orElse(null));
+        result.setArtifactCoordinates(extractObject(ArtifactCoordinatesEntity.class,
+                                                    t.get().get("artifactCoordinates")));
+
+        return result;
+    }
+
+    private ArtifactCoordinatesEntity mapArtifactCoordinates(Traverser<Map<String, Object>> t)
+    {
+        ArtifactCoordinatesEntity result = new ArtifactCoordinatesEntity();
+        result.setUuid(extractObject(String.class, t.get().get("uuid")));
+        result.setVersion(extractObject(String.class, t.get().get("version")));
+        result.setPath(extractObject(String.class, t.get().get("path")));
+
+        return result;
+    }
+
+}
@@ -0,0 +1,63 @@
+package org.carlspring.strongbox.janusgraph.gremlin.repositories.adapters;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+
+import org.junit.jupiter.api.Test;
+
+public class EntityTraversalUtilsTest
+{
+
+    @Test
+    public void extractValuesShouldCheckType()
+    {
+        assertEquals(Arrays.asList("a", "b"), EntityTraversalUtils.extractValues(String.class, Arrays.asList("a", "b")));
+        assertEquals(Collections.emptyList(), EntityTraversalUtils.extractValues(String.class, null));
+
+        assertThrows(ClassCastException.class,
+                     () -> EntityTraversalUtils.extractValues(String.class, Arrays.asList("a", 1L)));
+    }
+
+    @Test
+    public void extractValueShouldWork()
+    {
+        assertEquals(Long.valueOf(1L), EntityTraversalUtils.extractValue(Long.class, Arrays.asList(1L, 2L)));
+        assertNull(EntityTraversalUtils.extractValue(Long.class, Collections.emptyList()));
+        assertNull(EntityTraversalUtils.extractValue(Long.class, null));
+    }
+
+    @Test
+    public void dateShouldRoundTrip()
+    {
+        Date date = new Date(1571270400123L);
+
+        String formatted = EntityTraversalUtils.formatDate(date);
+        assertEquals(date, EntityTraversalUtils.parseDate(formatted));
+
+        // Formatted with the system default zone offset
+        ZoneOffset offset = ZoneId.systemDefault().getRules().getOffset(date.toInstant());
+        assertTrue(formatted, formatted.endsWith(offset.getId()));
+
+        // Dates formatted within other zones should be parsed to the same instant
+        String otherZoneFormatted = DateTimeFormatter.ofPattern(EntityTraversalUtils.DATE_FORMAT)
+                                      .format(OffsetDateTime.ofInstant(date.toInstant(), ZoneOffset.ofHours(-5)));
+        assertEquals(date, EntityTraversalUtils.parseDate(otherZoneFormatted));
+    }
+
+    @Test
+    public void invalidDateShouldFail()
+    {
+        assertThrows(IllegalArgumentException.class, () -> EntityTraversalUtils.parseDate("2019-10-17"));
+    }
+
+}
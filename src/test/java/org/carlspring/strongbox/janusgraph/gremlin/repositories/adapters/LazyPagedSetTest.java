@@ -0,0 +1,133 @@
+package org.carlspring.strongbox.janusgraph.gremlin.repositories.adapters;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class LazyPagedSetTest
+{
+
+    private final List<List<?>> pages = new ArrayList<>();
+
+    private LazyPagedSet<Element> set;
+
+    @BeforeEach
+    public void setUp()
+    {
+        pages.clear();
+        set = new LazyPagedSet<>(Arrays.asList(1, 2, 3, 4, 5), 2, this::fetchPage);
+    }
+
+    private Map<?, Element> fetchPage(List<?> ids)
+    {
+        pages.add(ids);
+
+        Map<Object, Element> result = new LinkedHashMap<>();
+        // The element 3 doesn't exist anymore
+        ids.stream().filter(id -> !id.equals(3)).forEach(id -> result.put(id, new Element("e" + id)));
+
+        return result;
+    }
+
+    @Test
+    public void pagesShouldBeFetchedOnAccess()
+    {
+        assertEquals(5, set.size());
+        assertTrue(pages.isEmpty());
+
+        Iterator<Element> iterator = set.iterator();
+        assertEquals("e1", iterator.next().name);
+        assertEquals(1, pages.size());
+        assertFalse(set.isLoaded());
+
+        assertEquals(Arrays.asList("e2", "e4", "e5"), names(iterator));
+        assertEquals(3, pages.size());
+        assertTrue(set.isLoaded());
+        assertEquals(4, set.size());
+    }
+
+    @Test
+    public void modificationsShouldNotFetchPages()
+    {
+        Element added = new Element("e6");
+        assertTrue(set.add(added));
+        assertFalse(set.add(added));
+        // Not fetched by the set, so it can't be one of its elements
+        assertFalse(set.remove(new Element("e1")));
+
+        assertEquals(6, set.size());
+        assertTrue(set.isModified());
+        assertTrue(pages.isEmpty());
+
+        assertTrue(set.remove(added));
+        assertFalse(set.isModified());
+        assertTrue(pages.isEmpty());
+    }
+
+    @Test
+    public void removedElementsShouldBeTrackedByIds()
+    {
+        Element added = new Element("e6");
+        set.add(added);
+
+        Iterator<Element> iterator = set.iterator();
+        Element first = iterator.next();
+        iterator.remove();
+        assertFalse(set.isLoaded());
+        assertEquals(Arrays.asList(1), new ArrayList<>(set.getRemovedIds()));
+        assertEquals(1, set.getAdded().size());
+        assertTrue(set.getAdded().contains(added));
+
+        assertEquals(Arrays.asList("e2", "e4", "e5", "e6"), names(set.iterator()));
+        assertEquals(4, set.size());
+
+        // The removed element can be added back
+        assertTrue(set.add(first));
+        assertTrue(set.getRemovedIds().isEmpty());
+        assertEquals(Arrays.asList("e1", "e2", "e4", "e5", "e6"), names(set.iterator()));
+    }
+
+    @Test
+    public void clearShouldRemoveAllIds()
+    {
+        set.add(new Element("e6"));
+        set.clear();
+
+        assertTrue(pages.isEmpty());
+        assertEquals(0, set.size());
+        assertTrue(set.getAdded().isEmpty());
+        assertEquals(Arrays.asList(1, 2, 3, 4, 5), new ArrayList<>(set.getRemovedIds()));
+        assertFalse(set.iterator().hasNext());
+    }
+
+    private static List<String> names(Iterator<Element> iterator)
+    {
+        List<String> result = new ArrayList<>();
+        iterator.forEachRemaining(e -> result.add(e.name));
+
+        return result;
+    }
+
+    private static class Element
+    {
+
+        private final String name;
+
+        private Element(String name)
+        {
+            this.name = name;
+        }
+
+    }
+
+}
@@ -0,0 +1,131 @@
+package org.carlspring.strongbox.janusgraph.gremlin.repositories.adapters;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import javax.inject.Inject;
+
+import org.carlspring.strongbox.janusgraph.app.Application;
+import org.carlspring.strongbox.janusgraph.domain.Artifact;
+import org.carlspring.strongbox.janusgraph.domain.ArtifactCoordinatesEntity;
+import org.carlspring.strongbox.janusgraph.domain.ArtifactEntity;
+import org.carlspring.strongbox.janusgraph.gremlin.dsl.EntityTraversal;
+import org.carlspring.strongbox.janusgraph.gremlin.dsl.EntityTraversalSource;
+import org.carlspring.strongbox.janusgraph.gremlin.repositories.ArtifactRepository;
+import org.janusgraph.core.JanusGraph;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+
+@SpringBootTest(classes = Application.class)
+public class VertexEntityTraversalAdapterTest
+{
+
+    @Inject
+    private JanusGraph janusGraph;
+
+    @Inject
+    private ArtifactAdapter artifactAdapter;
+
+    @Inject
+    @Qualifier("gremlinArtifactRepository")
+    private ArtifactRepository gremlinArtifactRepository;
+
+    @Test
+    public void templateCopiesShouldBeIndependent()
+    {
+        EntityTraversal<?, ?> fold = artifactAdapter.fold();
+        EntityTraversal<?, ?> anotherFold = artifactAdapter.fold();
+        assertNotSame(fold, anotherFold);
+        assertEquals(fold.asAdmin().getSteps().size(), anotherFold.asAdmin().getSteps().size());
+        assertNotSame(fold.asAdmin().getSteps().get(0), anotherFold.asAdmin().getSteps().get(0));
+        assertNotSame(artifactAdapter.fold(EntityProjection.of("sizeInBytes")),
+                      artifactAdapter.fold(EntityProjection.of("sizeInBytes")));
+        assertNotSame(artifactAdapter.cascade(), artifactAdapter.cascade());
+
+        List<String> uuids = new ArrayList<>();
+        for (int i = 0; i < 2; i++)
+        {
+            uuids.add(saveArtifact(String.format("org/carlspring/artifact-vetat-tcsbi-%s.jar", i), i));
+        }
+        janusGraph.tx().commit();
+
+        // The copies used one after another should not keep the state of the previous ones
+        for (int i = 0; i < 10; i++)
+        {
+            String uuid = uuids.get(i % 2);
+            assertEquals(Long.valueOf(i % 2), fetch(uuid).getSizeInBytes());
+        }
+    }
+
+    @Test
+    public void templateCopiesShouldBeThreadSafe()
+    {
+        List<String> uuids = new ArrayList<>();
+        for (int i = 0; i < 4; i++)
+        {
+            uuids.add(saveArtifact(String.format("org/carlspring/artifact-vetat-tcsbts-%s.jar", i), i));
+        }
+        janusGraph.tx().commit();
+
+        ExecutorService executor = Executors.newFixedThreadPool(uuids.size());
+        try
+        {
+            List<CompletableFuture<Void>> results = new ArrayList<>();
+            for (int i = 0; i < uuids.size(); i++)
+            {
+                String uuid = uuids.get(i);
+                long sizeInBytes = i;
+                results.add(CompletableFuture.runAsync(() -> {
+                    try
+                    {
+                        for (int j = 0; j < 50; j++)
+                        {
+                            assertEquals(Long.valueOf(sizeInBytes), fetch(uuid).getSizeInBytes());
+                        }
+                    }
+                    finally
+                    {
+                        janusGraph.tx().rollback();
+                    }
+                }, executor));
+            }
+            results.forEach(CompletableFuture::join);
+        }
+        finally
+        {
+            executor.shutdown();
+        }
+    }
+
+    private String saveArtifact(String path,
+                                long sizeInBytes)
+    {
+        ArtifactCoordinatesEntity artifactCoordinatesEntity = new ArtifactCoordinatesEntity();
+        artifactCoordinatesEntity.setPath(path);
+
+        ArtifactEntity artifactEntity = new ArtifactEntity();
+        artifactEntity.setStorageId("storage0");
+        artifactEntity.setRepositoryId("releases");
+        artifactEntity.setSizeInBytes(sizeInBytes);
+        artifactEntity.setArtifactCoordinates(artifactCoordinatesEntity);
+
+        return gremlinArtifactRepository.save(artifactEntity).getUuid();
+    }
+
+    private ArtifactEntity fetch(String uuid)
+    {
+        return janusGraph.traversal(EntityTraversalSource.class)
+                         .V()
+                         .findById(Artifact.LABEL, uuid)
+                         .map(artifactAdapter.fold())
+                         .next();
+    }
+
+}
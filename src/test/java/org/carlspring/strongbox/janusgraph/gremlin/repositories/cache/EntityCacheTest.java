@@ -0,0 +1,169 @@
+package org.carlspring.strongbox.janusgraph.gremlin.repositories.cache;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+
+import javax.inject.Inject;
+
+import org.carlspring.strongbox.janusgraph.app.Application;
+import org.carlspring.strongbox.janusgraph.domain.ArtifactCoordinatesEntity;
+import org.carlspring.strongbox.janusgraph.domain.ArtifactEntity;
+import org.carlspring.strongbox.janusgraph.gremlin.repositories.ArtifactCoordinatesRepository;
+import org.carlspring.strongbox.janusgraph.gremlin.repositories.ArtifactRepository;
+import org.janusgraph.core.JanusGraph;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.util.AopTestUtils;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.codahale.metrics.MetricRegistry;
+
+/**
+ * The cache is disabled by default, so the repositories are switched to the enabled cache instance for each test.
+ */
+@SpringBootTest(classes = Application.class)
+public class EntityCacheTest
+{
+
+    @Inject
+    @Qualifier("gremlinArtifactRepository")
+    private ArtifactRepository artifactRepository;
+
+    @Inject
+    @Qualifier("gremlinArtifactCoordinatesRepository")
+    private ArtifactCoordinatesRepository artifactCoordinatesRepository;
+
+    @Inject
+    private EntityCache entityCache;
+
+    @Inject
+    private JanusGraph janusGraph;
+
+    private MetricRegistry metricRegistry;
+
+    @BeforeEach
+    public void enableCache()
+    {
+        metricRegistry = new MetricRegistry();
+        setEntityCache(new EntityCache(true, 100, 300, metricRegistry));
+    }
+
+    @AfterEach
+    public void restoreCache()
+    {
+        janusGraph.tx().rollback();
+        setEntityCache(entityCache);
+    }
+
+    @Test
+    public void cacheHitShouldReturnCopy()
+    {
+        ArtifactEntity artifactEntity = artifactRepository.save(artifact("org/carlspring/artifact-ect-chsrc.jar"));
+        janusGraph.tx().commit();
+
+        ArtifactEntity loaded = artifactRepository.findById(artifactEntity.getUuid()).get();
+        assertEquals(0L, hits());
+
+        ArtifactEntity cached = artifactRepository.findById(artifactEntity.getUuid()).get();
+        assertEquals(1L, hits());
+        assertNotSame(loaded, cached);
+        assertNotSame(loaded.getArtifactCoordinates(), cached.getArtifactCoordinates());
+
+        cached.setSizeInBytes(321L);
+        cached.getArtifactCoordinates().setVersion("3.2.1");
+        cached.getTags().add("modified");
+
+        cached = artifactRepository.findById(artifactEntity.getUuid()).get();
+        assertEquals(Long.valueOf(123L), cached.getSizeInBytes());
+        assertEquals("1.2.3", cached.getArtifactCoordinates().getVersion());
+        assertEquals(0, cached.getTags().size());
+    }
+
+    @Test
+    public void saveShouldInvalidateAfterCommit()
+    {
+        ArtifactEntity artifactEntity = artifactRepository.save(artifact("org/carlspring/artifact-ect-ssiac.jar"));
+        janusGraph.tx().commit();
+        artifactEntity = artifactRepository.findById(artifactEntity.getUuid()).get();
+
+        artifactEntity.setSizeInBytes(321L);
+        artifactRepository.save(artifactEntity);
+
+        // Own uncommitted changes are visible, bypassing the cache
+        assertEquals(Long.valueOf(321L), artifactRepository.findById(artifactEntity.getUuid()).get().getSizeInBytes());
+        assertEquals(0L, hits());
+
+        janusGraph.tx().commit();
+
+        assertEquals(Long.valueOf(321L), artifactRepository.findById(artifactEntity.getUuid()).get().getSizeInBytes());
+        assertEquals(Long.valueOf(321L), artifactRepository.findById(artifactEntity.getUuid()).get().getSizeInBytes());
+        assertEquals(1L, hits());
+    }
+
+    @Test
+    public void rollbackShouldNotPopulateCache()
+    {
+        ArtifactEntity artifactEntity = artifactRepository.save(artifact("org/carlspring/artifact-ect-rsnpc.jar"));
+        janusGraph.tx().commit();
+
+        artifactEntity.setSizeInBytes(321L);
+        artifactRepository.save(artifactEntity);
+        assertEquals(Long.valueOf(321L), artifactRepository.findById(artifactEntity.getUuid()).get().getSizeInBytes());
+
+        janusGraph.tx().rollback();
+
+        assertEquals(Long.valueOf(123L), artifactRepository.findById(artifactEntity.getUuid()).get().getSizeInBytes());
+        assertEquals(Long.valueOf(123L), artifactRepository.findById(artifactEntity.getUuid()).get().getSizeInBytes());
+        assertEquals(1L, hits());
+    }
+
+    @Test
+    public void embeddedEntitySaveShouldInvalidateEmbeddingEntity()
+    {
+        ArtifactEntity artifactEntity = artifactRepository.save(artifact("org/carlspring/artifact-ect-eessiee.jar"));
+        janusGraph.tx().commit();
+        assertEquals("1.2.3",
+                     artifactRepository.findById(artifactEntity.getUuid()).get().getArtifactCoordinates().getVersion());
+
+        ArtifactCoordinatesEntity artifactCoordinatesEntity = artifactCoordinatesRepository.findById("org/carlspring/artifact-ect-eessiee.jar")
+                                                                                           .get();
+        artifactCoordinatesEntity.setVersion("3.2.1");
+        artifactCoordinatesRepository.save(artifactCoordinatesEntity);
+        janusGraph.tx().commit();
+
+        assertEquals("3.2.1",
+                     artifactRepository.findById(artifactEntity.getUuid()).get().getArtifactCoordinates().getVersion());
+    }
+
+    private long hits()
+    {
+        return (Long) metricRegistry.getGauges().get(MetricRegistry.name(EntityCache.class, "hits")).getValue();
+    }
+
+    private void setEntityCache(EntityCache cache)
+    {
+        ReflectionTestUtils.setField(AopTestUtils.getUltimateTargetObject(artifactRepository), "entityCache", cache);
+        ReflectionTestUtils.setField(AopTestUtils.getUltimateTargetObject(artifactCoordinatesRepository),
+                                     "entityCache",
+                                     cache);
+    }
+
+    private ArtifactEntity artifact(String path)
+    {
+        ArtifactCoordinatesEntity artifactCoordinatesEntity = new ArtifactCoordinatesEntity();
+        artifactCoordinatesEntity.setPath(path);
+        artifactCoordinatesEntity.setVersion("1.2.3");
+
+        ArtifactEntity artifactEntity = new ArtifactEntity();
+        artifactEntity.setStorageId("storage0");
+        artifactEntity.setRepositoryId("releases");
+        artifactEntity.setSizeInBytes(123L);
+        artifactEntity.setArtifactCoordinates(artifactCoordinatesEntity);
+
+        return artifactEntity;
+    }
+
+}
@@ -0,0 +1,51 @@
+package org.carlspring.strongbox.janusgraph.gremlin.tx;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+import java.util.Optional;
+
+import javax.inject.Inject;
+
+import org.carlspring.strongbox.janusgraph.app.Application;
+import org.carlspring.strongbox.janusgraph.domain.ArtifactCoordinatesEntity;
+import org.carlspring.strongbox.janusgraph.gremlin.repositories.ArtifactCoordinatesRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+
+@SpringBootTest(classes = Application.class)
+public class GremlinUnitOfWorkTest
+{
+
+    @Inject
+    @Qualifier("gremlinArtifactCoordinatesRepository")
+    private ArtifactCoordinatesRepository gremlinArtifactCoordinatesRepository;
+
+    @Inject
+    private GremlinUnitOfWorkManager unitOfWorkManager;
+
+    @Test
+    public void unitOfWorkShouldWork()
+    {
+        ArtifactCoordinatesEntity artifactCoordinatesEntity = new ArtifactCoordinatesEntity();
+        artifactCoordinatesEntity.setPath("org/carlspring/artifact-guowt-uowsw.jar");
+
+        try (GremlinUnitOfWork unitOfWork = unitOfWorkManager.builder().begin())
+        {
+            gremlinArtifactCoordinatesRepository.save(artifactCoordinatesEntity);
+            assertNotEquals(Optional.empty(),
+                            gremlinArtifactCoordinatesRepository.findById("org/carlspring/artifact-guowt-uowsw.jar"));
+        }
+        assertEquals(Optional.empty(),
+                     gremlinArtifactCoordinatesRepository.findById("org/carlspring/artifact-guowt-uowsw.jar"));
+
+        try (GremlinUnitOfWork unitOfWork = unitOfWorkManager.builder().commitEvery(1).begin())
+        {
+            gremlinArtifactCoordinatesRepository.save(artifactCoordinatesEntity);
+        }
+        assertNotEquals(Optional.empty(),
+                        gremlinArtifactCoordinatesRepository.findById("org/carlspring/artifact-guowt-uowsw.jar"));
+    }
+
+}
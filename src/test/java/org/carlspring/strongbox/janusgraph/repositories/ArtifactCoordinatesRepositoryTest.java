@@ -3,6 +3,8 @@ package org.carlspring.strongbox.janusgraph.repositories;
 import static org.apache.tinkerpop.gremlin.process.traversal.P.eq;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 
@@ -101,5 +103,44 @@ public class ArtifactCoordinatesRepositoryTest
 
         assertEquals("org/carlspring/test-artifact-1.0.0.jar", result.getPath());
     }
+
+    @Test
+    public void boundParametersShouldWork()
+    {
+        ArtifactCoordinatesEntity artifactCoordinates = new ArtifactCoordinatesEntity();
+        artifactCoordinates.setPath("org/carlspring/test-artifact-'quoted'.jar");
+        artifactCoordinates.setVersion(null);
+
+        artifactCoordinatesRepository.save(artifactCoordinates);
+
+        ArtifactCoordinatesEntity result = artifactCoordinatesRepository.findByPath("org/carlspring/test-artifact-'quoted'.jar");
+
+        assertEquals(artifactCoordinates.getUuid(), result.getUuid());
+        assertEquals(null, result.getVersion());
+    }
+
+    @Test
+    public void batchSaveShouldWork()
+    {
+        List<ArtifactCoordinatesEntity> artifactCoordinatesList = new ArrayList<>();
+        for (int i = 0; i < 10; i++)
+        {
+            ArtifactCoordinatesEntity artifactCoordinates = new ArtifactCoordinatesEntity();
+            artifactCoordinates.setPath(String.format("org/carlspring/test-artifact-batch-%s.jar", i));
+            artifactCoordinates.setVersion(String.valueOf(i));
+            artifactCoordinatesList.add(artifactCoordinates);
+        }
+
+        artifactCoordinatesRepository.saveAll(artifactCoordinatesList);
+
+        for (int i = 0; i < 10; i++)
+        {
+            ArtifactCoordinatesEntity result = artifactCoordinatesRepository.findByPath(String.format("org/carlspring/test-artifact-batch-%s.jar",
+                                                                                                      i));
+
+            assertEquals(artifactCoordinatesList.get(i).getUuid(), result.getUuid());
+            assertEquals(String.valueOf(i), result.getVersion());
+        }
+    }
     
 }
@@ -0,0 +1,97 @@
+package org.carlspring.strongbox.janusgraph.repositories;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Collections;
+import java.util.Map;
+
+import javax.inject.Inject;
+
+import org.carlspring.strongbox.janusgraph.app.Application;
+
+import org.janusgraph.core.JanusGraph;
+import org.janusgraph.core.schema.JanusGraphManagement;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.opencypher.gremlin.neo4j.ogm.CypherTranslationCache;
+import org.springframework.boot.test.context.SpringBootTest;
+
+@SpringBootTest(classes = Application.class)
+public class CypherQueryPrecompilerTest
+{
+
+    private static final Map<String, Object> PATH = Collections.singletonMap("path", "");
+
+    @Inject
+    private JanusGraph janusGraph;
+
+    @Inject
+    private CypherQueryPrecompiler cypherQueryPrecompiler;
+
+    @Inject
+    private CypherTranslationCache translationCache;
+
+    private JanusGraphManagement jgm;
+
+    @BeforeEach
+    public void setUp()
+    {
+        jgm = janusGraph.openManagement();
+    }
+
+    @AfterEach
+    public void tearDown()
+    {
+        jgm.rollback();
+    }
+
+    @Test
+    public void unknownLabelsShouldFail()
+    {
+        assertThrows(IllegalStateException.class,
+                     () -> precompile("MATCH (ac:Unknown {path:$path}) RETURN ac", PATH));
+        assertThrows(IllegalStateException.class,
+                     () -> precompile("MATCH (ac:ArtifactCoordinates:Unknown {path:$path}) RETURN ac", PATH));
+        assertThrows(IllegalStateException.class,
+                     () -> precompile("MATCH (a:Artifact)-[r:`Unknown`]->(ac) WHERE ac.path = $path RETURN a",
+                                      PATH));
+        assertThrows(IllegalStateException.class,
+                     () -> precompile("MATCH (a:Artifact)-[r:Artifact_ArtifactCoordinates|Unknown]->(ac) "
+                             + "WHERE ac.path = $path RETURN a", PATH));
+    }
+
+    @Test
+    public void unknownParametersShouldFail()
+    {
+        assertThrows(IllegalStateException.class,
+                     () -> precompile("MATCH (ac:ArtifactCoordinates {path:$path, version:$version}) RETURN ac",
+                                      PATH));
+    }
+
+    @Test
+    public void precompiledShouldBeUsedForSameParameterTypes()
+    {
+        String statement = "MATCH (ac:ArtifactCoordinates {path:$path}) RETURN ac";
+        precompile(statement, PATH);
+
+        long precompiledHits = translationCache.precompiledHits();
+        long misses = translationCache.stats().missCount();
+
+        translationCache.get(statement, Collections.singletonMap("path", "org/carlspring/cqp-psbu.jar"));
+        assertEquals(precompiledHits + 1, translationCache.precompiledHits());
+        assertEquals(misses, translationCache.stats().missCount());
+
+        translationCache.get(statement, Collections.singletonMap("path", 1L));
+        assertEquals(precompiledHits + 1, translationCache.precompiledHits());
+        assertEquals(misses + 1, translationCache.stats().missCount());
+    }
+
+    private void precompile(String statement,
+                            Map<String, Object> parameters)
+    {
+        cypherQueryPrecompiler.precompile(jgm, "CypherQueryPrecompilerTest", statement, parameters);
+    }
+
+}
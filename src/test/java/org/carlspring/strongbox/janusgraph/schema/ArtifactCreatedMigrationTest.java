@@ -0,0 +1,108 @@
+package org.carlspring.strongbox.janusgraph.schema;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+
+import javax.inject.Inject;
+
+import org.carlspring.strongbox.janusgraph.app.Application;
+import org.carlspring.strongbox.janusgraph.domain.Artifact;
+import org.carlspring.strongbox.janusgraph.domain.ArtifactCoordinatesEntity;
+import org.carlspring.strongbox.janusgraph.domain.ArtifactEntity;
+import org.carlspring.strongbox.janusgraph.gremlin.repositories.ArtifactRepository;
+import org.carlspring.strongbox.janusgraph.gremlin.repositories.adapters.EntityTraversalUtils;
+import org.janusgraph.core.JanusGraph;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+
+@SpringBootTest(classes = Application.class)
+public class ArtifactCreatedMigrationTest
+{
+
+    @Inject
+    private ArtifactCreatedMigration artifactCreatedMigration;
+
+    @Inject
+    @Qualifier("gremlinArtifactRepository")
+    private ArtifactRepository gremlinArtifactRepository;
+
+    @Inject
+    private org.carlspring.strongbox.janusgraph.repositories.ArtifactRepository artifactRepository;
+
+    @Inject
+    private JanusGraph janusGraph;
+
+    @Test
+    public void migrationShouldWork()
+    {
+        String repositoryId = "releases-acmt-msw";
+        long now = System.currentTimeMillis();
+
+        // Legacy artifact, with formatted date only
+        String legacyUuid = UUID.randomUUID().toString();
+        janusGraph.traversal()
+                  .addV(Artifact.LABEL)
+                  .property("uuid", legacyUuid)
+                  .property("storageId", "storage0")
+                  .property("repositoryId", repositoryId)
+                  .property("created", EntityTraversalUtils.formatDate(new Date(now)))
+                  .iterate();
+        janusGraph.tx().commit();
+
+        assertEquals(new Date(now), gremlinArtifactRepository.findById(legacyUuid).get().getCreated());
+        assertEquals(0, findCreatedBetween(repositoryId, now).size());
+
+        janusGraph.variables().remove(ArtifactCreatedMigration.MIGRATED);
+        assertTrue(artifactCreatedMigration.migrate() >= 1);
+        assertTrue(artifactCreatedMigration.isMigrated());
+
+        List<ArtifactEntity> result = findCreatedBetween(repositoryId, now);
+        assertEquals(1, result.size());
+        assertEquals(legacyUuid, result.get(0).getUuid());
+        assertEquals(new Date(now), result.get(0).getCreated());
+
+        // The migration should run only once
+        assertEquals(0, artifactCreatedMigration.migrate());
+    }
+
+    @Test
+    public void ogmSaveShouldWriteNativeDate()
+    {
+        String repositoryId = "releases-acmt-osswnd";
+        long now = System.currentTimeMillis();
+
+        ArtifactCoordinatesEntity artifactCoordinatesEntity = new ArtifactCoordinatesEntity();
+        artifactCoordinatesEntity.setUuid("org/carlspring/artifact-acmt-osswnd.jar");
+        artifactCoordinatesEntity.setPath("org/carlspring/artifact-acmt-osswnd.jar");
+
+        ArtifactEntity artifactEntity = new ArtifactEntity();
+        artifactEntity.setUuid(UUID.randomUUID().toString());
+        artifactEntity.setStorageId("storage0");
+        artifactEntity.setRepositoryId(repositoryId);
+        artifactEntity.setCreated(new Date(now));
+        artifactEntity.setArtifactCoordinates(artifactCoordinatesEntity);
+        artifactRepository.save(artifactEntity);
+
+        assertEquals(new Date(now),
+                     janusGraph.traversal().V().has("uuid", artifactEntity.getUuid()).values("createdAt").next());
+        janusGraph.tx().rollback();
+
+        List<ArtifactEntity> result = findCreatedBetween(repositoryId, now);
+        assertEquals(1, result.size());
+        assertEquals(artifactEntity.getUuid(), result.get(0).getUuid());
+    }
+
+    private List<ArtifactEntity> findCreatedBetween(String repositoryId,
+                                                    long created)
+    {
+        return gremlinArtifactRepository.findCreatedBetween("storage0", repositoryId,
+                                                            new Date(created),
+                                                            new Date(created + 1000L));
+    }
+
+}
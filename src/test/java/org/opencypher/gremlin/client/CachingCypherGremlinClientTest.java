@@ -0,0 +1,83 @@
+package org.opencypher.gremlin.client;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import org.janusgraph.core.JanusGraph;
+import org.janusgraph.core.JanusGraphFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.opencypher.gremlin.neo4j.ogm.CypherTranslationCache;
+
+import com.codahale.metrics.MetricRegistry;
+
+public class CachingCypherGremlinClientTest
+{
+
+    private JanusGraph janusGraph;
+
+    private CachingCypherGremlinClient client;
+
+    @BeforeEach
+    public void setUp()
+    {
+        janusGraph = JanusGraphFactory.build().set("storage.backend", "inmemory").open();
+        client = new CachingCypherGremlinClient(janusGraph.traversal(),
+                                                new CypherTranslationCache(10, new MetricRegistry()));
+    }
+
+    @AfterEach
+    public void tearDown()
+    {
+        janusGraph.close();
+    }
+
+    @Test
+    public void readShouldBeLazy()
+    {
+        CypherResultSet resultSet = client.submit("MATCH (n:Artifact) RETURN n.uuid AS uuid",
+                                                  Collections.emptyMap());
+
+        // Not executed until the results pulled, so it sees the vertices created after the submit
+        janusGraph.traversal().addV("Artifact").property("uuid", "a").iterate();
+        janusGraph.traversal().addV("Artifact").property("uuid", "b").iterate();
+
+        Iterator<Map<String, Object>> results = resultSet.iterator();
+        assertTrue(results.hasNext());
+        results.next();
+        assertTrue(results.hasNext());
+        results.next();
+    }
+
+    @Test
+    public void writeShouldBeEager()
+    {
+        // The result set is never consumed
+        client.submit("CREATE (n:Artifact {uuid: $uuid}) RETURN n", Collections.singletonMap("uuid", "a"));
+
+        assertEquals(Long.valueOf(1L), janusGraph.traversal().V().has("uuid", "a").count().next());
+    }
+
+    @Test
+    public void writesShouldBeOrdered()
+    {
+        client.submit("CREATE (n:Artifact {uuid: $uuid}) RETURN n", Collections.singletonMap("uuid", "a"));
+        client.submit("MATCH (n:Artifact) WHERE n.uuid = $uuid SET n.version = '1.0.0' RETURN n",
+                      Collections.singletonMap("uuid", "a"));
+        client.submit("MATCH (n:Artifact) WHERE n.uuid = $uuid SET n.version = '2.0.0' RETURN n",
+                      Collections.singletonMap("uuid", "a"));
+
+        List<Map<String, Object>> result = client.submit("MATCH (n:Artifact) RETURN n.version AS version",
+                                                         Collections.emptyMap())
+                                                 .all();
+        assertEquals(1, result.size());
+        assertEquals("2.0.0", result.get(0).get("version"));
+    }
+
+}
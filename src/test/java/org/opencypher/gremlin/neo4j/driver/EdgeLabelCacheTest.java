@@ -0,0 +1,123 @@
+package org.opencypher.gremlin.neo4j.driver;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.janusgraph.core.JanusGraph;
+import org.janusgraph.core.JanusGraphFactory;
+import org.janusgraph.core.JanusGraphTransaction;
+import org.janusgraph.core.schema.JanusGraphManagement;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class EdgeLabelCacheTest
+{
+
+    private JanusGraph janusGraph;
+
+    private JanusGraph otherJanusGraph;
+
+    @BeforeEach
+    public void setUp()
+    {
+        janusGraph = JanusGraphFactory.build().set("storage.backend", "inmemory").open();
+        otherJanusGraph = JanusGraphFactory.build().set("storage.backend", "inmemory").open();
+    }
+
+    @AfterEach
+    public void tearDown()
+    {
+        janusGraph.close();
+        otherJanusGraph.close();
+    }
+
+    @Test
+    public void loadShouldWork()
+    {
+        long typeId = makeEdgeLabel(janusGraph, "ArtifactEntity_ArtifactCoordinatesEntity");
+
+        EdgeLabelCache edgeLabelCache = new EdgeLabelCache(janusGraph);
+        edgeLabelCache.load();
+
+        // Cached, so the transaction is not used
+        assertEquals("ArtifactEntity_ArtifactCoordinatesEntity", edgeLabelCache.get(null, typeId));
+    }
+
+    @Test
+    public void missShouldBeResolved()
+    {
+        EdgeLabelCache edgeLabelCache = new EdgeLabelCache(janusGraph);
+        edgeLabelCache.load();
+
+        long typeId = makeEdgeLabel(janusGraph, "ArtifactGroupEntity_ArtifactEntity");
+
+        JanusGraphTransaction tx = janusGraph.buildTransaction().readOnly().start();
+        try
+        {
+            assertEquals("ArtifactGroupEntity_ArtifactEntity", edgeLabelCache.get(tx, typeId));
+        }
+        finally
+        {
+            tx.rollback();
+        }
+        assertEquals("ArtifactGroupEntity_ArtifactEntity", edgeLabelCache.get(null, typeId));
+    }
+
+    @Test
+    public void cachesShouldBeScopedToGraph()
+    {
+        long typeId = makeEdgeLabel(janusGraph, "ArtifactEntity_ArtifactCoordinatesEntity");
+        long otherTypeId = makeEdgeLabel(otherJanusGraph, "ArtifactGroupEntity_ArtifactEntity");
+
+        EdgeLabelCache edgeLabelCache = new EdgeLabelCache(janusGraph);
+        edgeLabelCache.load();
+        EdgeLabelCache otherEdgeLabelCache = new EdgeLabelCache(otherJanusGraph);
+        otherEdgeLabelCache.load();
+
+        assertEquals("ArtifactEntity_ArtifactCoordinatesEntity", edgeLabelCache.get(null, typeId));
+        assertEquals("ArtifactGroupEntity_ArtifactEntity", otherEdgeLabelCache.get(null, otherTypeId));
+    }
+
+    @Test
+    public void loadShouldReplaceCachedLabels()
+    {
+        long typeId = makeEdgeLabel(janusGraph, "ArtifactEntity_ArtifactCoordinatesEntity");
+
+        EdgeLabelCache edgeLabelCache = new EdgeLabelCache(janusGraph);
+        edgeLabelCache.load();
+
+        JanusGraphManagement jgm = janusGraph.openManagement();
+        jgm.changeName(jgm.getEdgeLabel("ArtifactEntity_ArtifactCoordinatesEntity"), "Renamed");
+        jgm.commit();
+        assertEquals("ArtifactEntity_ArtifactCoordinatesEntity", edgeLabelCache.get(null, typeId));
+
+        // The labels which are not in the schema anymore are discarded
+        Object vertexId = janusGraph.addVertex("Artifact").id();
+        janusGraph.tx().commit();
+        JanusGraphTransaction tx = janusGraph.buildTransaction().readOnly().start();
+        try
+        {
+            assertEquals("Artifact", edgeLabelCache.get(tx, (Long) vertexId));
+        }
+        finally
+        {
+            tx.rollback();
+        }
+
+        edgeLabelCache.load();
+        assertEquals("Renamed", edgeLabelCache.get(null, typeId));
+        assertThrows(NullPointerException.class, () -> edgeLabelCache.get(null, (Long) vertexId));
+    }
+
+    private long makeEdgeLabel(JanusGraph graph,
+                               String name)
+    {
+        JanusGraphManagement jgm = graph.openManagement();
+        long typeId = jgm.makeEdgeLabel(name).make().longId();
+        jgm.commit();
+
+        return typeId;
+    }
+
+}
@@ -0,0 +1,110 @@
+package org.opencypher.gremlin.neo4j.ogm;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import java.util.Collections;
+
+import org.junit.jupiter.api.Test;
+import org.opencypher.gremlin.neo4j.ogm.CypherTranslationCache.CypherTranslation;
+
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.MetricRegistry;
+
+public class CypherTranslationCacheTest
+{
+
+    private static final String STATEMENT = "MATCH (n:Artifact) WHERE n.uuid = $uuid RETURN n";
+
+    @Test
+    public void hitsAndMissesShouldBeCounted()
+    {
+        MetricRegistry metricRegistry = new MetricRegistry();
+        CypherTranslationCache cache = new CypherTranslationCache(10, metricRegistry);
+
+        CypherTranslation translation = cache.get(STATEMENT, Collections.singletonMap("uuid", "a"));
+        assertSame(translation, cache.get(STATEMENT, Collections.singletonMap("uuid", "b")));
+        // Different parameter types are translated separately
+        assertNotSame(translation, cache.get(STATEMENT, Collections.singletonMap("uuid", 1L)));
+
+        assertEquals(1L, cache.stats().hitCount());
+        assertEquals(2L, cache.stats().missCount());
+        assertEquals(2L, cache.size());
+        assertEquals(1L, gauge(metricRegistry, "hits"));
+        assertEquals(2L, gauge(metricRegistry, "misses"));
+    }
+
+    @Test
+    public void leastRecentlyUsedShouldBeEvicted()
+    {
+        MetricRegistry metricRegistry = new MetricRegistry();
+        CypherTranslationCache cache = new CypherTranslationCache(2, metricRegistry);
+
+        CypherTranslation first = cache.get("MATCH (n:Artifact) RETURN n", null);
+        cache.get("MATCH (n:ArtifactCoordinates) RETURN n", null);
+        assertSame(first, cache.get("MATCH (n:Artifact) RETURN n", null));
+
+        cache.get("MATCH (n:ArtifactGroup) RETURN n", null);
+        assertEquals(2L, cache.size());
+        assertEquals(1L, cache.stats().evictionCount());
+        assertEquals(1L, gauge(metricRegistry, "evictions"));
+
+        // The recently used translation is kept, the other one is evicted
+        assertSame(first, cache.get("MATCH (n:Artifact) RETURN n", null));
+        long misses = cache.stats().missCount();
+        cache.get("MATCH (n:ArtifactCoordinates) RETURN n", null);
+        assertEquals(misses + 1, cache.stats().missCount());
+    }
+
+    @Test
+    public void precompiledShouldNotBeEvicted()
+    {
+        MetricRegistry metricRegistry = new MetricRegistry();
+        CypherTranslationCache cache = new CypherTranslationCache(1, metricRegistry);
+
+        CypherTranslation precompiled = cache.precompile(STATEMENT, Collections.singletonMap("uuid", ""));
+        cache.get("MATCH (n:Artifact) RETURN n", null);
+        cache.get("MATCH (n:ArtifactCoordinates) RETURN n", null);
+
+        assertSame(precompiled, cache.get(STATEMENT, Collections.singletonMap("uuid", "a")));
+        assertEquals(1L, cache.precompiledHits());
+        assertEquals(1L, gauge(metricRegistry, "precompiledHits"));
+    }
+
+    @Test
+    public void otherParameterTypesShouldNotUsePrecompiled()
+    {
+        CypherTranslationCache cache = new CypherTranslationCache(10, new MetricRegistry());
+
+        CypherTranslation precompiled = cache.precompile(STATEMENT, Collections.singletonMap("uuid", ""));
+
+        CypherTranslation translation = cache.get(STATEMENT, Collections.singletonMap("uuid", 1L));
+        assertNotSame(precompiled, translation);
+        assertEquals(0L, cache.precompiledHits());
+        assertEquals(1L, cache.stats().missCount());
+        assertSame(translation, cache.get(STATEMENT, Collections.singletonMap("uuid", 2L)));
+        assertEquals(1L, cache.stats().hitCount());
+    }
+
+    @Test
+    public void metricsShouldBeReplacedWithinSameRegistry()
+    {
+        MetricRegistry metricRegistry = new MetricRegistry();
+        new CypherTranslationCache(10, metricRegistry).get("MATCH (n:Artifact) RETURN n", null);
+
+        CypherTranslationCache cache = new CypherTranslationCache(10, metricRegistry);
+        assertEquals(0L, gauge(metricRegistry, "size"));
+        cache.get("MATCH (n:Artifact) RETURN n", null);
+        assertEquals(1L, gauge(metricRegistry, "size"));
+    }
+
+    private long gauge(MetricRegistry metricRegistry,
+                       String name)
+    {
+        Gauge<?> gauge = metricRegistry.getGauges().get(MetricRegistry.name("cypher-translation", "cache", name));
+
+        return ((Number) gauge.getValue()).longValue();
+    }
+
+}
@@ -0,0 +1,129 @@
+package org.opencypher.gremlin.neo4j.ogm.request;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.commons.lang3.tuple.Pair;
+import org.junit.jupiter.api.Test;
+
+public class GremlinRequestTest
+{
+
+    private static final String MERGE_STATEMENT = "UNWIND {rows} as row "
+            + "MERGE (n:`ArtifactCoordinates`{uuid: row.props.uuid}) "
+            + "SET n=row.props "
+            + "RETURN row.id as ref, ID(n) as id, {type} as type";
+
+    private static final String MATCH_BY_ID_STATEMENT = "MATCH (n:`RepositoryArtifactIdGroup`) "
+            + "WHERE n.`uuid` = { id } "
+            + "WITH n "
+            + "RETURN n,[ [ (n)-[r_r1:`RepositoryArtifactIdGroupEntity_ArtifactGroupEntity`]->(a1:`ArtifactGroup`) "
+            + "| [ r_r1, a1 ] ] ]";
+
+    private final GremlinRequest gremlinRequest = new GremlinRequest(null, null);
+
+    @Test
+    public void rowsShouldBeGroupedByPropertyNames()
+    {
+        Map<String, Object> first = row(1L, "uuid", "a", "version", "1.0.0");
+        Map<String, Object> second = row(2L, "uuid", "b");
+        Map<String, Object> third = row(3L, "version", "2.0.0", "uuid", "c");
+
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("type", "node");
+        parameters.put("rows", Arrays.asList(first, second, third));
+
+        List<Map<String, Object>> result = GremlinRequest.groupRowsByPropertyNames(parameters);
+        assertEquals(2, result.size());
+        assertEquals(Arrays.asList(first, third), result.get(0).get("rows"));
+        assertEquals("node", result.get(0).get("type"));
+        assertEquals(Arrays.asList(second), result.get(1).get("rows"));
+        assertEquals("node", result.get(1).get("type"));
+    }
+
+    @Test
+    public void sameRowsShouldNotBeGrouped()
+    {
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("rows", Arrays.asList(row(1L, "uuid", "a"), row(2L, "uuid", "b")));
+
+        List<Map<String, Object>> result = GremlinRequest.groupRowsByPropertyNames(parameters);
+        assertEquals(1, result.size());
+        assertSame(parameters, result.get(0));
+
+        Map<String, Object> noRows = new HashMap<>();
+        noRows.put("id", "a");
+        assertSame(noRows, GremlinRequest.groupRowsByPropertyNames(noRows).get(0));
+    }
+
+    @Test
+    public void mergeShouldSetRowProperties()
+    {
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("rows",
+                       Arrays.asList(row(1L, "uuid", "a", "version", "1.0.0"), row(2L, "uuid", "b", "version", null)));
+
+        String statement = gremlinRequest.normalizeMergeByIdWithParams(Pair.of(MERGE_STATEMENT, parameters)).getLeft();
+        assertTrue(statement, statement.contains("SET n.uuid = row.props.uuid,n.version = row.props.version "));
+    }
+
+    @Test
+    public void mergeWithDifferentRowPropertiesShouldFail()
+    {
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("rows", Arrays.asList(row(1L, "uuid", "a", "version", "1.0.0"), row(2L, "uuid", "b")));
+
+        assertThrows(IllegalArgumentException.class,
+                     () -> gremlinRequest.normalizeMergeByIdWithParams(Pair.of(MERGE_STATEMENT, parameters)));
+    }
+
+    @Test
+    public void matchByIdWithRelationsShouldBeNormalized()
+    {
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("id", "a");
+
+        String statement = gremlinRequest.normalizeMatchByIdWithRelationResult(Pair.of(MATCH_BY_ID_STATEMENT,
+                                                                                        parameters))
+                                         .getLeft();
+        assertTrue(statement, statement.contains("WHERE n.`uuid` = $id"));
+        assertTrue(statement, statement.contains("MATCH (n)-[r_r1:"));
+    }
+
+    @Test
+    public void otherStatementsWithIdShouldNotBeNormalized()
+    {
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("id", "a");
+
+        // Precompiled repository statement, which should match its translation cache entry
+        Pair<String, Map<String, Object>> statement = Pair.of("MATCH (n:`Artifact`) WHERE n.uuid = $id "
+                + "WITH n MATCH (n)-[r]->(m) RETURN n, [r, m]", parameters);
+        assertSame(statement, gremlinRequest.normalizeMatchByIdWithRelationResult(statement));
+    }
+
+    private Map<String, Object> row(Long id,
+                                    Object... props)
+    {
+        Map<String, Object> propsMap = new LinkedHashMap<>();
+        for (int i = 0; i < props.length; i += 2)
+        {
+            propsMap.put((String) props[i], props[i + 1]);
+        }
+
+        Map<String, Object> row = new HashMap<>();
+        row.put("id", id);
+        row.put("props", propsMap);
+
+        return row;
+    }
+
+}
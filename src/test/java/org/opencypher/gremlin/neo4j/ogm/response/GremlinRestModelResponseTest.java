@@ -0,0 +1,177 @@
+package org.opencypher.gremlin.neo4j.ogm.response;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import org.janusgraph.core.JanusGraph;
+import org.janusgraph.core.JanusGraphFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.neo4j.driver.v1.Record;
+import org.neo4j.driver.v1.StatementResult;
+import org.neo4j.driver.v1.summary.ResultSummary;
+import org.neo4j.ogm.model.RestModel;
+import org.neo4j.ogm.transaction.Transaction.Type;
+import org.opencypher.gremlin.neo4j.driver.CypherGremlinStatementRunner;
+import org.opencypher.gremlin.neo4j.driver.EdgeLabelCache;
+import org.opencypher.gremlin.neo4j.driver.Neo4jDriverEntityAdapter;
+import org.opencypher.gremlin.neo4j.ogm.CypherTranslationCache;
+import org.opencypher.gremlin.neo4j.ogm.transaction.GremlinTransaction;
+
+import com.codahale.metrics.MetricRegistry;
+
+public class GremlinRestModelResponseTest
+{
+
+    private static final String STATEMENT = "MATCH (n:Artifact) RETURN n.uuid AS uuid";
+
+    private JanusGraph janusGraph;
+
+    private CypherGremlinStatementRunner statementRunner;
+
+    @BeforeEach
+    public void setUp()
+    {
+        janusGraph = JanusGraphFactory.build().set("storage.backend", "inmemory").open();
+        for (int i = 0; i < 5; i++)
+        {
+            janusGraph.traversal().addV("Artifact").property("uuid", String.valueOf(i)).iterate();
+        }
+
+        GremlinTransaction transaction = new GremlinTransaction(null, janusGraph, Type.READ_WRITE,
+                                                                new CypherTranslationCache(10, new MetricRegistry()),
+                                                                new EdgeLabelCache(janusGraph));
+        statementRunner = transaction.getStatementRunner();
+    }
+
+    @AfterEach
+    public void tearDown()
+    {
+        janusGraph.close();
+    }
+
+    @Test
+    public void recordsShouldBeStreamed()
+    {
+        CountingStatementResult result = new CountingStatementResult(statementRunner.run(STATEMENT));
+        GremlinRestModelResponse response = new GremlinRestModelResponse(result, new Neo4jDriverEntityAdapter());
+
+        assertNotNull(response.next());
+        assertNotNull(response.next());
+        assertEquals(2, result.pulled);
+
+        for (int i = 0; i < 3; i++)
+        {
+            assertNotNull(response.next());
+        }
+        assertEquals(5, result.pulled);
+        assertNull(response.next());
+    }
+
+    @Test
+    public void statisticsShouldWorkAfterPartialRead()
+    {
+        CountingStatementResult result = new CountingStatementResult(statementRunner.run(STATEMENT));
+        GremlinRestModelResponse response = new GremlinRestModelResponse(result, new Neo4jDriverEntityAdapter());
+
+        RestModel first = response.next();
+        assertNotNull(first);
+        assertEquals(1, result.pulled);
+
+        assertTrue(response.getStatistics().isPresent());
+        assertFalse(response.getStatistics().get().containsUpdates());
+        assertEquals(5, result.pulled);
+        assertNull(response.next());
+
+        response.close();
+    }
+
+    /**
+     * Counts the records pulled by the response.
+     */
+    private static class CountingStatementResult implements StatementResult
+    {
+
+        private final StatementResult delegate;
+
+        private int pulled;
+
+        CountingStatementResult(StatementResult delegate)
+        {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public List<String> keys()
+        {
+            return delegate.keys();
+        }
+
+        @Override
+        public boolean hasNext()
+        {
+            return delegate.hasNext();
+        }
+
+        @Override
+        public Record next()
+        {
+            Record record = delegate.next();
+            pulled++;
+
+            return record;
+        }
+
+        @Override
+        public Record single()
+        {
+            return delegate.single();
+        }
+
+        @Override
+        public Record peek()
+        {
+            return delegate.peek();
+        }
+
+        @Override
+        public Stream<Record> stream()
+        {
+            return delegate.stream();
+        }
+
+        @Override
+        public List<Record> list()
+        {
+            return delegate.list();
+        }
+
+        @Override
+        public <T> List<T> list(Function<Record, T> mapFunction)
+        {
+            return delegate.list(mapFunction);
+        }
+
+        @Override
+        public ResultSummary consume()
+        {
+            return delegate.consume();
+        }
+
+        @Override
+        public ResultSummary summary()
+        {
+            return delegate.summary();
+        }
+
+    }
+
+}
@@ -0,0 +1,78 @@
+package org.opencypher.gremlin.neo4j.ogm.transaction;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import java.util.Collections;
+
+import org.janusgraph.core.JanusGraph;
+import org.janusgraph.core.JanusGraphFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.neo4j.ogm.transaction.Transaction.Type;
+import org.opencypher.gremlin.neo4j.driver.CypherGremlinStatementRunner;
+import org.opencypher.gremlin.neo4j.driver.EdgeLabelCache;
+import org.opencypher.gremlin.neo4j.ogm.CypherTranslationCache;
+import org.opencypher.gremlin.neo4j.ogm.JanusGraphDriver;
+
+import com.codahale.metrics.MetricRegistry;
+
+public class GremlinTransactionTest
+{
+
+    private JanusGraph janusGraph;
+
+    private JanusGraphDriver driver;
+
+    private CypherTranslationCache translationCache;
+
+    @BeforeEach
+    public void setUp()
+    {
+        janusGraph = JanusGraphFactory.build().set("storage.backend", "inmemory").open();
+        translationCache = new CypherTranslationCache(10, new MetricRegistry());
+        driver = new JanusGraphDriver(janusGraph, translationCache, new EdgeLabelCache(janusGraph), tx -> {
+        });
+    }
+
+    @AfterEach
+    public void tearDown()
+    {
+        janusGraph.close();
+    }
+
+    @Test
+    public void statementRunnerShouldBeReused()
+    {
+        GremlinTransaction transaction = newTransaction();
+
+        CypherGremlinStatementRunner statementRunner = transaction.getStatementRunner();
+        assertSame(statementRunner, transaction.getStatementRunner());
+
+        // Each request runs within the same session, and the statement translated once
+        statementRunner.run("CREATE (n:Artifact {uuid: $uuid}) RETURN n", Collections.singletonMap("uuid", "a"));
+        driver.request(transaction);
+        statementRunner.run("CREATE (n:Artifact {uuid: $uuid}) RETURN n", Collections.singletonMap("uuid", "b"));
+        assertSame(statementRunner, transaction.getStatementRunner());
+        assertEquals(1L, translationCache.stats().missCount());
+        assertEquals(1L, translationCache.stats().hitCount());
+
+        assertEquals(2L, statementRunner.run("MATCH (n:Artifact) RETURN n").list().size());
+
+        // Other transactions have their own runners, but share the translations
+        GremlinTransaction otherTransaction = newTransaction();
+        assertNotSame(statementRunner, otherTransaction.getStatementRunner());
+        otherTransaction.getStatementRunner().run("MATCH (n:Artifact) RETURN n").consume();
+        assertEquals(2L, translationCache.stats().hitCount());
+    }
+
+    private GremlinTransaction newTransaction()
+    {
+        return (GremlinTransaction) driver.getTransactionFactorySupplier()
+                                          .apply(null)
+                                          .apply(Type.READ_WRITE, Collections.emptyList());
+    }
+
+}